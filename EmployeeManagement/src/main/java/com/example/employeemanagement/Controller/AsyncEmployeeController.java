@@ -0,0 +1,139 @@
+package com.example.employeemanagement.Controller;
+
+import com.example.employeemanagement.ApiResponse.ApiResponse;
+import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.DTO.VersionedEmployeesDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Service.EmployeeAsyncService;
+import com.example.employeemanagement.admission.Admission;
+import com.example.employeemanagement.admission.EndpointCost;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+// The EmployeeController endpoints under /async: each one returns a CompletableFuture, the servlet
+// thread goes back to Tomcat as soon as the work is handed to EmployeeAsyncService and the response
+// is written when the future completes. Failures complete the future exceptionally and end up in
+// ControllerAdvice like on the blocking endpoints.
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/employee/async")
+public class AsyncEmployeeController {
+
+    private final EmployeeAsyncService employeeAsyncService;
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncEmployeeController.class);
+
+    // Create Employee
+    @PostMapping("/create")
+    @Admission(EndpointCost.WRITE)
+    public CompletableFuture<ResponseEntity<?>> createEmployee(@Valid @RequestBody Employee employee) {
+        logger.debug("Creating new employee with email: {}", employee.getEmail());
+
+        return employeeAsyncService.createEmployee(employee)
+                .thenApply(created -> ResponseEntity.status(200).body(new ApiResponse("Employee Created Successfully")));
+    }
+
+    // Get Employee by ID, with If-None-Match the version is looked up first like on the blocking endpoint
+    @GetMapping("/get-employee/by-id/{id}")
+    @Admission(EndpointCost.BY_ID)
+    public CompletableFuture<ResponseEntity<?>> getEmployeeById(@PathVariable UUID id,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.debug("Fetching employee with ID: {}", id);
+
+        if (ifNoneMatch == null) {
+            return employeeAsyncService.getEmployeeById(id).thenApply(AsyncEmployeeController::found);
+        }
+        return employeeAsyncService.getEmployeeVersion(id).thenCompose(version -> {
+            String etag = EmployeeController.etag(Long.toString(version));
+            if (EmployeeController.etagMatches(ifNoneMatch, etag)) {
+                return CompletableFuture.completedFuture(EmployeeController.tagged(304, etag).build());
+            }
+            return employeeAsyncService.getEmployeeById(id, version).thenApply(AsyncEmployeeController::found);
+        });
+    }
+
+    // Update Employee
+    @PutMapping("/update/{id}")
+    @Admission(EndpointCost.WRITE)
+    public CompletableFuture<ResponseEntity<?>> updateEmployee(@PathVariable UUID id, @Valid @RequestBody Employee updatedEmployee) {
+        logger.debug("Updating employee with ID: {}", id);
+
+        return employeeAsyncService.updateEmployee(id, updatedEmployee)
+                .thenApply(updated -> ResponseEntity.status(200).body(updated));
+    }
+
+    // Delete Employee
+    @DeleteMapping("/delete/{id}")
+    @Admission(EndpointCost.WRITE)
+    public CompletableFuture<ResponseEntity<?>> deleteEmployee(@PathVariable UUID id, @RequestParam(required = false) Long version) {
+        logger.debug("Deleting employee with ID: {}", id);
+
+        return employeeAsyncService.deleteEmployee(id, version)
+                .thenApply(deleted -> ResponseEntity.status(200).body(new ApiResponse("Employee With ID:" + id + " Deleted Successfully")));
+    }
+
+    // List All Employees, with If-None-Match the list version is looked up first like on the blocking endpoint
+    @GetMapping("/get-all-employee")
+    @Admission(EndpointCost.LIST)
+    public CompletableFuture<ResponseEntity<?>> getAllEmployees(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.debug("Fetching all employees");
+
+        if (ifNoneMatch == null) {
+            return employeeAsyncService.getAllEmployeesWithVersion().thenApply(AsyncEmployeeController::listed);
+        }
+        return employeeAsyncService.getEmployeeListVersion().thenCompose(version -> {
+            String etag = EmployeeController.etag(version);
+            if (EmployeeController.etagMatches(ifNoneMatch, etag)) {
+                return CompletableFuture.completedFuture(EmployeeController.tagged(304, etag).build());
+            }
+            return employeeAsyncService.getAllEmployeesWithVersion().thenApply(AsyncEmployeeController::listed);
+        });
+    }
+
+    // List Employees one keyset page at a time
+    @GetMapping("/get-all-employee/page")
+    @Admission(EndpointCost.LIST)
+    public CompletableFuture<ResponseEntity<?>> getEmployeesPage(@RequestParam(required = false) UUID after,
+                                                                 @RequestParam(defaultValue = "100") int size) {
+        logger.debug("Fetching employees page after: {}", after);
+
+        return employeeAsyncService.getEmployeesPage(after, size)
+                .thenApply(page -> ResponseEntity.status(200).body(page));
+    }
+
+    // Search Employees, same parameters as /api/v1/employee/search
+    @GetMapping("/search")
+    @Admission(EndpointCost.LIST)
+    public CompletableFuture<ResponseEntity<?>> searchEmployees(@RequestParam(required = false) String department,
+                                                                @RequestParam(required = false) String lastNamePrefix,
+                                                                @RequestParam(required = false) BigDecimal minSalary,
+                                                                @RequestParam(required = false) BigDecimal maxSalary,
+                                                                @RequestParam(defaultValue = "false") boolean withTotal,
+                                                                @PageableDefault(size = 20, sort = "lastName", direction = Sort.Direction.ASC) Pageable pageable) {
+        logger.debug("Searching employees in department: {}", department);
+
+        return employeeAsyncService.searchEmployees(department, lastNamePrefix, minSalary, maxSalary, pageable, withTotal)
+                .thenApply(employees -> ResponseEntity.status(200).body(EmployeeController.searchBody(employees)));
+    }
+
+    private static ResponseEntity<EmployeeDTO> found(EmployeeDTO employee) {
+        return EmployeeController.tagged(200, EmployeeController.etag(String.valueOf(employee.getVersion()))).body(employee);
+    }
+
+    private static ResponseEntity<List<EmployeeDTO>> listed(VersionedEmployeesDTO list) {
+        return EmployeeController.tagged(200, EmployeeController.etag(list.getVersion())).body(list.getEmployees());
+    }
+}
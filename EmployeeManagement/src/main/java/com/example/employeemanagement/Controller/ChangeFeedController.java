@@ -0,0 +1,82 @@
+package com.example.employeemanagement.Controller;
+
+import com.example.employeemanagement.DTO.EmployeeChangeDTO;
+import com.example.employeemanagement.event.EmployeeChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/employee")
+public class ChangeFeedController {
+
+    private final EmployeeChangeFeed employeeChangeFeed;
+
+    @Value("${employee.feed.connection-timeout:30m}")
+    private Duration connectionTimeout;
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedController.class);
+
+    // Server-Sent Events feed of employee changes. EventSource clients resume automatically
+    // through the Last-Event-ID header, other clients can pass ?after={event id} instead.
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                              @RequestParam(required = false) String after) {
+        logger.debug("Change feed subscriber connected after: {}", lastEventId != null ? lastEventId : after);
+
+        SseEmitter emitter = new SseEmitter(connectionTimeout.toMillis());
+        Runnable unsubscribe = employeeChangeFeed.subscribe(lastEventId != null ? lastEventId : after, new SseSink(emitter));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return emitter;
+    }
+
+    private static final class SseSink implements EmployeeChangeFeed.Sink {
+        private final SseEmitter emitter;
+
+        SseSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(EmployeeChangeDTO change) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(change.getEventId())
+                    .name(change.getType().toLowerCase(Locale.ROOT))
+                    .data(change, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void reset(String eventId) throws IOException {
+            // the id lets the client continue from here once it has reloaded the full list
+            emitter.send(SseEmitter.event()
+                    .id(eventId)
+                    .name("reset")
+                    .data("Requested position is no longer available, reload /get-all-employee"));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void complete() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                // already completed or the connection is gone
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.employeemanagement.Controller;
+
+import com.example.employeemanagement.ApiResponse.ApiResponse;
+import com.example.employeemanagement.DTO.DepartmentStatsDTO;
+import com.example.employeemanagement.Service.DepartmentAnalyticsService;
+import com.example.employeemanagement.admission.Admission;
+import com.example.employeemanagement.admission.EndpointCost;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/analytics")
+public class DepartmentAnalyticsController {
+
+    private final DepartmentAnalyticsService departmentAnalyticsService;
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentAnalyticsController.class);
+
+    // Salary stats for every department
+    @GetMapping("/departments")
+    public ResponseEntity getAllDepartmentStats() {
+        List<DepartmentStatsDTO> stats = departmentAnalyticsService.getAllDepartmentStats();
+        return ResponseEntity.status(200).body(stats);
+    }
+
+    // Salary stats for one department
+    @GetMapping("/departments/{department}")
+    public ResponseEntity getDepartmentStats(@PathVariable String department) {
+        DepartmentStatsDTO stats = departmentAnalyticsService.getDepartmentStats(department);
+        if (stats == null) {
+            return ResponseEntity.status(404).body(new ApiResponse("No employees in department: " + department));
+        }
+        return ResponseEntity.status(200).body(stats);
+    }
+
+    // Recompute the aggregates from the employee table
+    @PostMapping("/departments/rebuild")
+    @Admission(EndpointCost.LIST)
+    public ResponseEntity rebuild() {
+        logger.info("Rebuilding department analytics");
+
+        departmentAnalyticsService.rebuild();
+
+        return ResponseEntity.status(200).body(new ApiResponse("Department analytics rebuilt"));
+    }
+}
@@ -1,16 +1,41 @@
 package com.example.employeemanagement.Controller;
 
 import com.example.employeemanagement.ApiResponse.ApiResponse;
+import com.example.employeemanagement.DTO.BulkCreateResultDTO;
+import com.example.employeemanagement.DTO.CacheStatsDTO;
 import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.DTO.EmployeePageDTO;
+import com.example.employeemanagement.DTO.EmployeeSliceDTO;
+import com.example.employeemanagement.DTO.VersionedEmployeesDTO;
 import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Service.EmployeeBulkService;
 import com.example.employeemanagement.Service.EmployeeService;
+import com.example.employeemanagement.admission.Admission;
+import com.example.employeemanagement.admission.EndpointCost;
+import com.example.employeemanagement.cache.CacheConfig;
+import com.example.employeemanagement.cache.CacheStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,62 +45,208 @@ import java.util.UUID;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeBulkService employeeBulkService;
+    private final CacheStatsService cacheStatsService;
+    private final ObjectMapper objectMapper;
+
+    private static final String NDJSON = "application/x-ndjson";
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
 
     // Create Employee
     @PostMapping("/create")
+    @Admission(EndpointCost.WRITE)
     public ResponseEntity createEmployee(@Valid @RequestBody Employee employee) {
-        logger.info("Creating new employee with email: {}", employee.getEmail());
+        logger.debug("Creating new employee with email: {}", employee.getEmail());
 
         //if there is any issue the service will throw ex
         employeeService.createEmployee(employee);
 
-        logger.info("Employee created successfully with email: {}", employee.getEmail());
+        logger.debug("Employee created successfully with email: {}", employee.getEmail());
         return ResponseEntity.status(200).body(new ApiResponse("Employee Created Successfully"));
     }
 
-    // Get Employee by ID
-    @GetMapping("/get-employee/by-id/{id}")
-    public ResponseEntity getEmployeeById(@PathVariable UUID id) {
-        logger.info("Fetching employee with ID: {}", id);
+    // Create Employees in bulk, every row is validated and rejected rows are reported back
+    @PostMapping("/create/bulk")
+    @Admission(EndpointCost.BULK)
+    public ResponseEntity createEmployees(@RequestBody List<Employee> employees) {
+        logger.debug("Creating {} employees in bulk", employees.size());
 
-        EmployeeDTO employee = employeeService.getEmployeeById(id); // Throws EmployeeNotFoundException if not found
+        BulkCreateResultDTO result = employeeBulkService.createEmployees(employees);
 
-        logger.info("Employee found with ID: {}", id);
-        return ResponseEntity.status(200).body(employee);
+        logger.debug("Bulk creation finished: {} created, {} rejected", result.getCreated(), result.getErrors().size());
+        return ResponseEntity.status(200).body(result);
+    }
+
+    // Get Employee by ID, the ETag is the row version.
+    // With If-None-Match only the version is looked up, a match answers 304 without building the body.
+    @GetMapping("/get-employee/by-id/{id}")
+    @Admission(EndpointCost.BY_ID)
+    public ResponseEntity getEmployeeById(@PathVariable UUID id,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.debug("Fetching employee with ID: {}", id);
+
+        EmployeeDTO employee;
+        if (ifNoneMatch != null) {
+            long version = employeeService.getEmployeeVersion(id); // Throws EmployeeNotFoundException if not found
+            String etag = etag(Long.toString(version));
+            if (etagMatches(ifNoneMatch, etag)) {
+                return tagged(304, etag).build();
+            }
+            // a cached row of another version is reloaded, its old ETag could match the client's again
+            employee = employeeService.getEmployeeById(id, version);
+        } else {
+            employee = employeeService.getEmployeeById(id); // Throws EmployeeNotFoundException if not found
+        }
+
+        logger.debug("Employee found with ID: {}", id);
+        return tagged(200, etag(String.valueOf(employee.getVersion()))).body(employee);
     }
 
     // Update Employee
     @PutMapping("/update/{id}")
+    @Admission(EndpointCost.WRITE)
     public ResponseEntity updateEmployee(@PathVariable UUID id, @Valid @RequestBody Employee updatedEmployee) {
-        logger.info("Updating employee with ID: {}", id);
+        logger.debug("Updating employee with ID: {}", id);
 
-        Employee updated = employeeService.updateEmployee(id, updatedEmployee);  // Throws EmployeeNotFoundException if not found
+        Employee updated = employeeService.updateEmployee(id, updatedEmployee);  // Throws EmployeeNotFoundException if not found, EmployeeConflictException if the version is stale
 
-        logger.info("Employee updated with ID: {}", id);
+        logger.debug("Employee updated with ID: {}", id);
         return ResponseEntity.status(200).body(updated);
     }
 
     // Delete Employee
     @DeleteMapping("/delete/{id}")
-    public ResponseEntity deleteEmployee(@PathVariable UUID id) {
-        logger.info("Deleting employee with ID: {}", id);
+    @Admission(EndpointCost.WRITE)
+    public ResponseEntity deleteEmployee(@PathVariable UUID id, @RequestParam(required = false) Long version) {
+        logger.debug("Deleting employee with ID: {}", id);
 
-        employeeService.deleteEmployee(id);  // Throws EmployeeNotFoundException if not found
+        employeeService.deleteEmployee(id, version);  // Throws EmployeeNotFoundException if not found, EmployeeConflictException if the version is stale
 
-        logger.info("Employee with ID: {} deleted successfully", id);
+        logger.debug("Employee with ID: {} deleted successfully", id);
         return ResponseEntity.status(200).body(new ApiResponse("Employee With ID:" + id + " Deleted Successfully"));
     }
 
-    // List All Employees
+    // List All Employees, the ETag is the collection version (EmployeeCollectionVersion) and changes
+    // with every committed write. With If-None-Match only the version is looked up, like by id.
     @GetMapping("/get-all-employee")
-    public ResponseEntity getAllEmployees() {
-        logger.info("Fetching all employees");
+    @Admission(EndpointCost.LIST)
+    public ResponseEntity getAllEmployees(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        logger.debug("Fetching all employees");
+
+        if (ifNoneMatch != null) {
+            String etag = etag(employeeService.getEmployeeListVersion());
+            if (etagMatches(ifNoneMatch, etag)) {
+                return tagged(304, etag).build();
+            }
+        }
+
+        VersionedEmployeesDTO employees = employeeService.getAllEmployeesWithVersion();
+
+        logger.debug("Retrieved {} employees", employees.getEmployees().size());
+        return tagged(200, etag(employees.getVersion())).body(employees.getEmployees());
+    }
+
+    // List Employees one keyset page at a time
+    @GetMapping("/get-all-employee/page")
+    @Admission(EndpointCost.LIST)
+    public ResponseEntity getEmployeesPage(@RequestParam(required = false) UUID after,
+                                           @RequestParam(defaultValue = "100") int size) {
+        logger.debug("Fetching employees page after: {}", after);
+
+        EmployeePageDTO page = employeeService.getEmployeesPage(after, size);
+
+        logger.debug("Retrieved {} employees", page.getEmployees().size());
+        return ResponseEntity.status(200).body(page);
+    }
 
-        List<EmployeeDTO> employees = employeeService.getAllEmployees();
+    // Stream All Employees as NDJSON (one JSON object per line)
+    @GetMapping(value = "/get-all-employee/stream", produces = NDJSON)
+    @Admission(EndpointCost.LIST)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        logger.debug("Streaming all employees");
+
+        ObjectWriter writer = objectMapper.writerFor(EmployeeDTO.class);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            employeeService.streamAllEmployees(employee -> {
+                try {
+                    out.write(writer.writeValueAsBytes(employee));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+
+        return ResponseEntity.status(200).body(body);
+    }
+
+    // Search Employees, e.g. /search?department=HR&lastNamePrefix=Al&minSalary=40000&sort=salary,desc&page=0&size=20
+    // withTotal=true adds the total count (one more query)
+    @GetMapping("/search")
+    @Admission(EndpointCost.LIST)
+    public ResponseEntity searchEmployees(@RequestParam(required = false) String department,
+                                          @RequestParam(required = false) String lastNamePrefix,
+                                          @RequestParam(required = false) BigDecimal minSalary,
+                                          @RequestParam(required = false) BigDecimal maxSalary,
+                                          @RequestParam(defaultValue = "false") boolean withTotal,
+                                          @PageableDefault(size = 20, sort = "lastName", direction = Sort.Direction.ASC) Pageable pageable) {
+        logger.debug("Searching employees in department: {}", department);
+
+        Slice<EmployeeDTO> employees = employeeService.searchEmployees(department, lastNamePrefix, minSalary, maxSalary,
+                pageable, withTotal);
+
+        logger.debug("Found {} employees", employees.getNumberOfElements());
+        return ResponseEntity.status(200).body(searchBody(employees));
+    }
+
+    // Hit/miss/eviction counters of the by-id cache
+    @GetMapping("/cache-stats")
+    public ResponseEntity getCacheStats() {
+        CacheStatsDTO stats = cacheStatsService.getStats(CacheConfig.EMPLOYEES);
+        if (stats == null) {
+            return ResponseEntity.status(404).body(new ApiResponse("Employee cache is not enabled"));
+        }
+        return ResponseEntity.status(200).body(stats);
+    }
+
+    // PagedModel with the total when it was counted, otherwise just whether there is a next page
+    static Object searchBody(Slice<EmployeeDTO> employees) {
+        if (employees instanceof Page<EmployeeDTO> page) {
+            return new PagedModel<>(page);
+        }
+        return new EmployeeSliceDTO(employees.getContent(), employees.getNumber(), employees.getSize(), employees.hasNext());
+    }
+
+    // Weak: the same data in JSON, Smile or CBOR, gzipped or not, is the same version. Tomcat also
+    // leaves responses with a strong ETag uncompressed, a weak one lets server.compression work.
+    static String etag(String version) {
+        return "W/\"" + version + "\"";
+    }
+
+    // Every representation of a version shares its tag, so caches must keep them apart by Accept
+    static ResponseEntity.BodyBuilder tagged(int status, String etag) {
+        return ResponseEntity.status(status).eTag(etag).varyBy(HttpHeaders.ACCEPT);
+    }
+
+    // If-None-Match is a list of tags or "*", compared weakly as RFC 9110 asks for GET
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || opaqueTag(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        logger.info("Retrieved {} employees", employees.size());
-        return ResponseEntity.status(200).body(employees);
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
     }
 }
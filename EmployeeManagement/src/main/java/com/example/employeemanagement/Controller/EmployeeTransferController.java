@@ -0,0 +1,63 @@
+package com.example.employeemanagement.Controller;
+
+import com.example.employeemanagement.DTO.BulkCreateResultDTO;
+import com.example.employeemanagement.Service.EmployeeTransferService;
+import com.example.employeemanagement.admission.Admission;
+import com.example.employeemanagement.admission.EndpointCost;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Locale;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/employee")
+public class EmployeeTransferController {
+
+    private final EmployeeTransferService employeeTransferService;
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeTransferController.class);
+
+    // Export all employees as a CSV or NDJSON file
+    @GetMapping("/export")
+    @Admission(EndpointCost.LIST)
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(defaultValue = "csv") String format) {
+        EmployeeTransferService.Format transferFormat = EmployeeTransferService.Format.of(format);
+        logger.debug("Exporting employees as {}", transferFormat);
+
+        StreamingResponseBody body = outputStream ->
+                employeeTransferService.exportEmployees(transferFormat, Channels.newChannel(outputStream));
+
+        return ResponseEntity.status(200)
+                .header(HttpHeaders.CONTENT_TYPE, contentType(transferFormat))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees." + transferFormat.name().toLowerCase(Locale.ROOT) + "\"")
+                .body(body);
+    }
+
+    // Import employees from a CSV (with header line) or NDJSON request body, rejected lines are reported back
+    @PostMapping("/import")
+    @Admission(EndpointCost.BULK)
+    public ResponseEntity importEmployees(@RequestParam(defaultValue = "csv") String format,
+                                          HttpServletRequest request) throws IOException {
+        EmployeeTransferService.Format transferFormat = EmployeeTransferService.Format.of(format);
+        logger.debug("Importing employees as {}", transferFormat);
+
+        BulkCreateResultDTO result = employeeTransferService.importEmployees(transferFormat,
+                Channels.newChannel(request.getInputStream()));
+
+        logger.debug("Import finished: {} created, {} rejected", result.getCreated(), result.getReceived() - result.getCreated());
+        return ResponseEntity.status(200).body(result);
+    }
+
+    private static String contentType(EmployeeTransferService.Format format) {
+        return format == EmployeeTransferService.Format.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson";
+    }
+}
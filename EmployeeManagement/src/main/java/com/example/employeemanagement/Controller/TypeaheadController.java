@@ -0,0 +1,42 @@
+package com.example.employeemanagement.Controller;
+
+import com.example.employeemanagement.ApiResponse.ApiResponse;
+import com.example.employeemanagement.DTO.NameMatchDTO;
+import com.example.employeemanagement.Service.NameSearchService;
+import com.example.employeemanagement.admission.Admission;
+import com.example.employeemanagement.admission.EndpointCost;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/employee")
+public class TypeaheadController {
+
+    private final NameSearchService nameSearchService;
+
+    private static final Logger logger = LoggerFactory.getLogger(TypeaheadController.class);
+
+    // Fuzzy name lookup, tolerates partial and misspelled names
+    @GetMapping("/typeahead")
+    public ResponseEntity typeahead(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        List<NameMatchDTO> matches = nameSearchService.typeahead(q, limit);
+        return ResponseEntity.status(200).body(matches);
+    }
+
+    // Reload the name index from the employee table
+    @PostMapping("/typeahead/rebuild")
+    @Admission(EndpointCost.LIST)
+    public ResponseEntity rebuild() {
+        logger.info("Rebuilding name index");
+
+        nameSearchService.rebuild();
+
+        return ResponseEntity.status(200).body(new ApiResponse("Name index rebuilt"));
+    }
+}
@@ -2,12 +2,16 @@ package com.example.employeemanagement.ControllerAdvice;
 import com.example.employeemanagement.ApiResponse.ApiException;
 import com.example.employeemanagement.ApiResponse.ApiResponse;
 import com.example.employeemanagement.exception.DatabaseException;
+import com.example.employeemanagement.exception.EmployeeConflictException;
 import com.example.employeemanagement.exception.EmployeeNotFoundException;
 import com.example.employeemanagement.exception.InvalidInputException;
+import com.example.employeemanagement.exception.ServiceOverloadedException;
+import com.example.employeemanagement.exception.ValidationUnavailableException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -51,6 +55,34 @@ public class ControllerAdvice {
 
 
 
+    // EmployeeConflictException handler, the row changed since the client read it
+    @ExceptionHandler(value = EmployeeConflictException.class)
+    public ResponseEntity<ApiResponse> handleEmployeeConflictException(EmployeeConflictException e) {
+        String msg = e.getMessage();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse(msg));
+    }
+
+    // ServiceOverloadedException handler, 429 or 503 with Retry-After in whole seconds (at least 1)
+    @ExceptionHandler(value = ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse> handleServiceOverloadedException(ServiceOverloadedException e) {
+        String msg = e.getMessage();
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatus());
+        if (e.getRetryAfter() != null) {
+            long seconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+            response.header(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        }
+        return response.body(new ApiResponse(msg));
+    }
+
+    // ValidationUnavailableException handler, an external check timed out or its circuit is open
+    @ExceptionHandler(value = ValidationUnavailableException.class)
+    public ResponseEntity<ApiResponse> handleValidationUnavailableException(ValidationUnavailableException e) {
+        String msg = e.getMessage();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ApiResponse(msg));
+    }
+
+
+
     //Here other exception added
 
     // MethodArgumentNotValidException handler (for validation errors)
@@ -0,0 +1,17 @@
+package com.example.employeemanagement.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCreateResultDTO {
+    private int received;
+    private int created;
+    private List<BulkRowErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.example.employeemanagement.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// row is the zero based position of the employee in the submitted batch,
+// or the 1 based line number for file imports
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRowErrorDTO {
+    private int row;
+    private String email;
+    private String message;
+}
@@ -0,0 +1,26 @@
+package com.example.employeemanagement.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+// One entry of the change feed. eventId is the SSE event id (epoch-sequence), for DELETED only the id is set.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChangeDTO {
+    private long sequence;
+    private String eventId;
+    private String type;
+    private UUID id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String department;
+    private BigDecimal salary;
+    private Instant committedAt;
+}
@@ -0,0 +1,17 @@
+package com.example.employeemanagement.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+// One keyset page of employees, nextCursor is null when there are no more rows
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeePageDTO {
+    private List<EmployeeDTO> employees;
+    private UUID nextCursor;
+}
@@ -0,0 +1,18 @@
+package com.example.employeemanagement.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One search page without a total count, hasNext tells whether page number + 1 has rows
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeSliceDTO {
+    private List<EmployeeDTO> content;
+    private int number;
+    private int size;
+    private boolean hasNext;
+}
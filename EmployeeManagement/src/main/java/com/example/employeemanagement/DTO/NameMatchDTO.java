@@ -0,0 +1,18 @@
+package com.example.employeemanagement.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// score is the share of the query's trigrams found in the name, 1.0 means all of them
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NameMatchDTO {
+    private UUID id;
+    private String firstName;
+    private String lastName;
+    private double score;
+}
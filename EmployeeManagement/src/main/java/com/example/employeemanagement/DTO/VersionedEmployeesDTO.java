@@ -0,0 +1,16 @@
+package com.example.employeemanagement.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// All employees with the collection version they were read at, the version becomes the list's ETag
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VersionedEmployeesDTO {
+    private String version;
+    private List<EmployeeDTO> employees;
+}
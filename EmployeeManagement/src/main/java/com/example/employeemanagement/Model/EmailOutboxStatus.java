@@ -0,0 +1,7 @@
+package com.example.employeemanagement.Model;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -1,23 +1,31 @@
 package com.example.employeemanagement.Model;
 
 
+import com.example.employeemanagement.id.EmployeeId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import jdk.jfr.DataAmount;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        // search: department equality + salary range, and last name prefix
+        @Index(name = "idx_employee_department_salary", columnList = "department, salary"),
+        @Index(name = "idx_employee_last_name", columnList = "lastName")
+})
 @Data
 @AllArgsConstructor
 @RequiredArgsConstructor
 public class Employee {
+    // random UUIDv4 by default, time ordered UUIDv7 with employee.id.generator=time-ordered
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @EmployeeId
     private UUID id;
 
 
@@ -52,6 +60,15 @@ public class Employee {
     @Column(nullable = false)
     private BigDecimal salary;
 
+    // Optimistic locking, bumped by every update. Send it back on update/delete to fail with 409
+    // instead of overwriting a change made by someone else in the meantime.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
+    public Employee(UUID id, String firstName, String lastName, String email, String department, BigDecimal salary) {
+        this(id, firstName, lastName, email, department, salary, null);
+    }
 
 }
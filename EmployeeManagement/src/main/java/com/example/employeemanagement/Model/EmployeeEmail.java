@@ -0,0 +1,33 @@
+package com.example.employeemanagement.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+// An email claimed for an employee on one of the shards, see sharding.EmailDirectory
+@Entity
+@Table(name = "employee_email")
+@Data
+@AllArgsConstructor
+@RequiredArgsConstructor
+public class EmployeeEmail implements Persistable<String> {
+    @Id
+    private String email;
+
+    // epoch millis, a claim that old without an employee behind it can be taken over
+    @Column(nullable = false)
+    private long claimedAt;
+
+    @Override
+    public String getId() {
+        return email;
+    }
+
+    // Claims are only ever inserted: saveAll persists them in one JDBC batch instead of selecting each first
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.employeemanagement.Repository;
+
+import com.example.employeemanagement.Model.EmailOutbox;
+import com.example.employeemanagement.Model.EmailOutboxStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+    // Oldest due emails first, served by idx_email_outbox_status_next_attempt
+    List<EmailOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(EmailOutboxStatus status, Instant now, Limit limit);
+}
@@ -0,0 +1,22 @@
+package com.example.employeemanagement.Repository;
+
+import com.example.employeemanagement.Model.EmployeeEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface EmployeeEmailRepository extends JpaRepository<EmployeeEmail, String> {
+    // Only succeeds when nobody took the claim over since claimedAt was read
+    @Modifying
+    @Query("update EmployeeEmail c set c.claimedAt = :now where c.email = :email and c.claimedAt = :claimedAt")
+    int takeOver(@Param("email") String email, @Param("claimedAt") long claimedAt, @Param("now") long now);
+
+    @Modifying
+    @Query("delete from EmployeeEmail c where c.email in :emails")
+    int deleteByEmails(@Param("emails") Collection<String> emails);
+}
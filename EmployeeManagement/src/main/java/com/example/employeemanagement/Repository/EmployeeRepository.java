@@ -1,13 +1,110 @@
 package com.example.employeemanagement.Repository;
 
 
+import com.example.employeemanagement.DTO.EmployeeDTO;
 import com.example.employeemanagement.Model.Employee;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
-   Employee findEmployeeById(UUID employeeId);
-}
\ No newline at end of file
+public interface EmployeeRepository extends JpaRepository<Employee, UUID>, JpaSpecificationExecutor<Employee>,
+        EmployeeSliceRepository {
+   // Read paths select straight into EmployeeDTO: no managed entities, no dirty checking snapshots
+   String DTO_SELECT = "select new com.example.employeemanagement.DTO.EmployeeDTO("
+           + "e.id, e.firstName, e.lastName, e.email, e.department, e.salary, e.version) from Employee e ";
+
+   @Query(DTO_SELECT + "where e.id = :id")
+   EmployeeDTO findDTOById(@Param("id") UUID id);
+
+   @Query(DTO_SELECT)
+   List<EmployeeDTO> findAllDTOs();
+
+   // Only the version, answers conditional GETs without loading the row
+   @Query("select e.version from Employee e where e.id = :id")
+   Long findVersionById(@Param("id") UUID id);
+
+   // The one row of employee_collection_version as epoch-version, see cache.EmployeeCollectionVersion
+   @Query(value = "select concat(epoch, '-', version) from employee_collection_version", nativeQuery = true)
+   String findCollectionVersion();
+
+   @Modifying
+   @Transactional
+   @Query(value = "update employee_collection_version set version = version + 1", nativeQuery = true)
+   int incrementCollectionVersion();
+
+   // Keyset pagination: first page, then every next page starts after the last id we returned
+   @Query(DTO_SELECT + "order by e.id")
+   List<EmployeeDTO> findDTOsOrderById(Limit limit);
+
+   @Query(DTO_SELECT + "where e.id > :after order by e.id")
+   List<EmployeeDTO> findDTOsAfterOrderById(@Param("after") UUID after, Limit limit);
+
+   // Must be consumed inside a transaction and closed by the caller
+   // (on MySQL the fetch size has to be Integer.MIN_VALUE to really stream)
+   @Query("select e from Employee e order by e.id")
+   @QueryHints({
+           @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+           @QueryHint(name = HINT_READ_ONLY, value = "true")
+   })
+   Stream<Employee> streamAll();
+
+   // Which of the given emails are already taken, one query per bulk chunk
+   @Query("select e.email from Employee e where e.email in :emails")
+   List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+   // The email an employee has now, its claim is released once the employee no longer uses it
+   @Query("select e.email from Employee e where e.id = :id")
+   String findEmailById(@Param("id") UUID id);
+
+   // Every email of the shard, claimed once when the email directory is introduced
+   @Query("select e.email from Employee e")
+   List<String> findAllEmails();
+
+   // Single statement writes, no read first. They return the number of rows changed:
+   // 0 means the id does not exist or, with a version, somebody else changed the row first
+   @Modifying
+   @Query("update Employee e set e.firstName = :firstName, e.lastName = :lastName, e.email = :email, " +
+           "e.department = :department, e.salary = :salary, e.version = e.version + 1 where e.id = :id")
+   int updateById(@Param("id") UUID id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+                  @Param("email") String email, @Param("department") String department, @Param("salary") BigDecimal salary);
+
+   @Modifying
+   @Query("update Employee e set e.firstName = :firstName, e.lastName = :lastName, e.email = :email, " +
+           "e.department = :department, e.salary = :salary, e.version = e.version + 1 where e.id = :id and e.version = :version")
+   int updateByIdAndVersion(@Param("id") UUID id, @Param("version") long version, @Param("firstName") String firstName,
+                            @Param("lastName") String lastName, @Param("email") String email,
+                            @Param("department") String department, @Param("salary") BigDecimal salary);
+
+   // Moves an employee to another shard with its id and version, the id generator is not involved
+   @Modifying
+   @Query("insert into Employee (id, firstName, lastName, email, department, salary, version) " +
+           "values (:id, :firstName, :lastName, :email, :department, :salary, :version)")
+   int insertWithId(@Param("id") UUID id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+                    @Param("email") String email, @Param("department") String department,
+                    @Param("salary") BigDecimal salary, @Param("version") long version);
+
+   @Modifying
+   @Query("delete from Employee e where e.id = :id")
+   int deleteEmployeeById(@Param("id") UUID id);
+
+   @Modifying
+   @Query("delete from Employee e where e.id = :id and e.version = :version")
+   int deleteEmployeeByIdAndVersion(@Param("id") UUID id, @Param("version") long version);
+}
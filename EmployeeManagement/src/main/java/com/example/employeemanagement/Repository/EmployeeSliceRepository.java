@@ -0,0 +1,13 @@
+package com.example.employeemanagement.Repository;
+
+import com.example.employeemanagement.Model.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+// Repository fragment, see EmployeeSliceRepositoryImpl
+public interface EmployeeSliceRepository {
+    // One page of the filtered employees without the count query a Page needs. One row more than the
+    // page is fetched to tell whether there is a next page.
+    Slice<Employee> findSlice(Specification<Employee> filter, Pageable pageable);
+}
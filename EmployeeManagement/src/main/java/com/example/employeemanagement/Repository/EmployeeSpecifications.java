@@ -0,0 +1,36 @@
+package com.example.employeemanagement.Repository;
+
+import com.example.employeemanagement.Model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+// Criteria filters for the employee search, every filter is skipped when its value is null.
+// They are written so the database can use idx_employee_department_salary and idx_employee_last_name.
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> hasDepartment(String department) {
+        return (root, query, cb) -> department == null ? null : cb.equal(root.get("department"), department);
+    }
+
+    // LIKE 'prefix%' can use the index, a leading wildcard could not
+    public static Specification<Employee> lastNameStartsWith(String prefix) {
+        return (root, query, cb) -> prefix == null ? null
+                : cb.like(root.get("lastName"), escapeLike(prefix) + "%", '\\');
+    }
+
+    public static Specification<Employee> salaryAtLeast(BigDecimal min) {
+        return (root, query, cb) -> min == null ? null : cb.greaterThanOrEqualTo(root.get("salary"), min);
+    }
+
+    public static Specification<Employee> salaryAtMost(BigDecimal max) {
+        return (root, query, cb) -> max == null ? null : cb.lessThanOrEqualTo(root.get("salary"), max);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.employeemanagement.Service;
+
+import com.example.employeemanagement.DTO.DepartmentStatsDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// Salary aggregates per department, kept up to date from EmployeeChangedEvent after every commit.
+// Reads are O(departments). Sums are exact BigDecimal, min and max come from a per-department
+// multiset of salaries so they stay correct when the current min or max employee leaves.
+// Departments are grouped case-insensitively, like the department validation.
+// Events of one employee can arrive out of order (listeners run after commit, on the committing
+// thread), so each employee's contribution keeps its row version and older changes are dropped.
+@Service
+public class DepartmentAnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentAnalyticsService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final ShardRouter shardRouter;
+    private final boolean rebuildOnStartup;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // replaced as a whole by rebuild, guarded by lock
+    private Aggregates aggregates = new Aggregates();
+    // changes committed while a rebuild loads, replayed onto the new aggregates before they are
+    // swapped in; null when no rebuild runs. Guarded by lock.
+    private List<EmployeeChangedEvent> changesDuringRebuild;
+
+    public DepartmentAnalyticsService(EmployeeRepository employeeRepository,
+                                      EntityManager entityManager,
+                                      ShardRouter shardRouter,
+                                      @Value("${employee.analytics.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.shardRouter = shardRouter;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    // Recomputes everything from the employee table of every shard into new aggregates, which
+    // replace the current ones once complete, like NameSearchService.rebuild. Reads and changes
+    // keep using the current aggregates meanwhile; a change that commits during the load is
+    // replayed onto the new ones, where the versions sort out whether the load already saw it.
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Aggregates fresh = new Aggregates();
+        try {
+            load(fresh);
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(fresh::apply);
+                aggregates = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.info("Department analytics rebuilt: {} employees in {} departments", fresh.employees(), fresh.departments.size());
+    }
+
+    private void load(Aggregates target) {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            shardRouter.inReadOnlyTransactionOnce(shard, () -> {
+                try (Stream<Employee> employees = employeeRepository.streamAll()) {
+                    employees.forEach(employee -> {
+                        target.put(employee.getId(), employee.getDepartment(), employee.getSalary(), employee.getVersion());
+                        entityManager.detach(employee);
+                    });
+                }
+                return null;
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            aggregates.apply(event);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<DepartmentStatsDTO> getAllDepartmentStats() {
+        lock.readLock().lock();
+        try {
+            List<DepartmentStatsDTO> stats = new ArrayList<>(aggregates.departments.size());
+            for (DepartmentAggregate aggregate : aggregates.departments.values()) {
+                stats.add(aggregate.toDTO());
+            }
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns null when nobody works in that department
+    public DepartmentStatsDTO getDepartmentStats(String department) {
+        lock.readLock().lock();
+        try {
+            DepartmentAggregate aggregate = aggregates.departments.get(key(department));
+            return aggregate == null ? null : aggregate.toDTO();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String key(String department) {
+        return department.toUpperCase(Locale.ROOT);
+    }
+
+    // What each employee currently contributes, so updates and deletes only need the id.
+    // A deleted employee stays as a contribution without department, version DELETED, so a late
+    // change of it is dropped like any older one; ids are never reused.
+    private static class Aggregates {
+        private static final long DELETED = Long.MAX_VALUE;
+
+        private final Map<UUID, Contribution> contributions = new HashMap<>();
+        private final Map<String, DepartmentAggregate> departments = new TreeMap<>();
+
+        void apply(EmployeeChangedEvent event) {
+            if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+                put(event.getId(), null, null, DELETED);
+            } else {
+                put(event.getId(), event.getDepartment(), event.getSalary(), event.getVersion());
+            }
+        }
+
+        // A change without a version is always applied
+        void put(UUID id, String department, BigDecimal salary, Long version) {
+            Contribution previous = contributions.get(id);
+            if (previous != null && version != null && previous.version() != null && previous.version() >= version) {
+                return;
+            }
+            remove(previous);
+            if (version != null && version == DELETED) {
+                contributions.put(id, new Contribution(null, null, DELETED));
+                return;
+            }
+            if (department == null || salary == null) {
+                contributions.remove(id);
+                return;
+            }
+            contributions.put(id, new Contribution(department, salary, version));
+            departments.computeIfAbsent(key(department), k -> new DepartmentAggregate(department)).add(salary);
+        }
+
+        private void remove(Contribution previous) {
+            if (previous == null || previous.department() == null) {
+                return;
+            }
+            String key = key(previous.department());
+            DepartmentAggregate aggregate = departments.get(key);
+            if (aggregate != null && aggregate.remove(previous.salary())) {
+                departments.remove(key);
+            }
+        }
+
+        long employees() {
+            return departments.values().stream().mapToLong(aggregate -> aggregate.headcount).sum();
+        }
+    }
+
+    private record Contribution(String department, BigDecimal salary, Long version) {
+    }
+
+    private static class DepartmentAggregate {
+        private final String name;
+        private long headcount;
+        private BigDecimal total = BigDecimal.ZERO;
+        // salary -> number of employees earning it, compareTo based so 100.0 and 100.00 are one key
+        private final TreeMap<BigDecimal, Integer> salaries = new TreeMap<>();
+
+        DepartmentAggregate(String name) {
+            this.name = name;
+        }
+
+        void add(BigDecimal salary) {
+            headcount++;
+            total = total.add(salary);
+            salaries.merge(salary, 1, Integer::sum);
+        }
+
+        // returns true when the department became empty
+        boolean remove(BigDecimal salary) {
+            headcount--;
+            total = total.subtract(salary);
+            salaries.computeIfPresent(salary, (s, count) -> count == 1 ? null : count - 1);
+            return headcount == 0;
+        }
+
+        DepartmentStatsDTO toDTO() {
+            BigDecimal average = total.divide(BigDecimal.valueOf(headcount), Math.max(total.scale(), 2), RoundingMode.HALF_UP);
+            return new DepartmentStatsDTO(name, headcount, total, average, salaries.firstKey(), salaries.lastKey());
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.employeemanagement.Service;
+
+import com.example.employeemanagement.Model.EmailOutbox;
+import com.example.employeemanagement.Model.EmailOutboxStatus;
+import com.example.employeemanagement.Repository.EmailOutboxRepository;
+import com.example.employeemanagement.event.EmailQueuedEvent;
+import com.example.employeemanagement.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Drains the email outbox in batches. Each batch goes out over one SMTP connection,
+// failed emails are retried with exponential backoff until max-attempts is reached.
+// Assumes a single application instance, several instances could send the same row twice.
+@Service
+public class EmailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    // scheduled polls and after-commit triggers never run a batch at the same time
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 @Lazy JavaMailSender mailSender, // resolved on the first send, see startup.StartupConfig
+                                 TransactionTemplate transactionTemplate,
+                                 ShardRouter shardRouter,
+                                 @Value("${employee.email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${employee.email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${employee.email.outbox.initial-backoff:30s}") Duration initialBackoff,
+                                 @Value("${employee.email.outbox.max-backoff:1h}") Duration maxBackoff,
+                                 MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.sendTimer = Timer.builder("employee.email.send")
+                .description("One SMTP batch, however many emails it holds")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("employee.email.sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("employee.email.failed").register(meterRegistry);
+    }
+
+    // Safety net for retries and for emails queued before a restart
+    @Scheduled(fixedDelayString = "${employee.email.outbox.poll-interval:5s}")
+    public void poll() {
+        dispatchPending();
+    }
+
+    // Sends freshly queued emails right away instead of waiting for the next poll
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEmailQueued(EmailQueuedEvent event) {
+        dispatchPending();
+    }
+
+    // Returns how many emails were sent successfully
+    public int dispatchPending() {
+        if (!dispatchLock.tryLock()) {
+            return 0;
+        }
+        try {
+            // every shard has its own outbox next to its employees
+            int sent = 0;
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                sent += shardRouter.withShard(shard, this::dispatchShard);
+            }
+            return sent;
+        } catch (RuntimeException e) {
+            logger.error("Email outbox dispatch failed", e);
+            return 0;
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private int dispatchShard() {
+        int sent = 0;
+        List<EmailOutbox> batch;
+        do {
+            batch = emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                    EmailOutboxStatus.PENDING, Instant.now(), Limit.of(batchSize));
+            if (!batch.isEmpty()) {
+                sent += sendBatch(batch);
+            }
+        } while (batch.size() == batchSize);
+        return sent;
+    }
+
+    private int sendBatch(List<EmailOutbox> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMessage(batch.get(i));
+        }
+
+        Map<Object, Exception> failedMessages = Map.of();
+        MailException batchFailure = null;
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                batchFailure = e;
+            }
+        } catch (MailException e) {
+            // e.g. could not connect or authenticate, nothing in the batch went out
+            batchFailure = e;
+        } finally {
+            sample.stop(sendTimer);
+        }
+
+        List<EmailOutbox> sent = new ArrayList<>(batch.size());
+        List<EmailOutbox> failed = new ArrayList<>();
+        Instant now = Instant.now();
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutbox entry = batch.get(i);
+            Exception error = batchFailure != null ? batchFailure : failedMessages.get(messages[i]);
+            if (error == null) {
+                sent.add(entry);
+            } else {
+                scheduleRetry(entry, error, now);
+                failed.add(entry);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                emailOutboxRepository.deleteAllInBatch(sent);
+            }
+            if (!failed.isEmpty()) {
+                emailOutboxRepository.saveAll(failed);
+            }
+        });
+
+        sentCounter.increment(sent.size());
+        failedCounter.increment(failed.size());
+        if (!failed.isEmpty()) {
+            logger.warn("{} of {} outbox emails failed and will be retried", failed.size(), batch.size());
+        }
+        return sent.size();
+    }
+
+    private void scheduleRetry(EmailOutbox entry, Exception error, Instant now) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(truncate(error.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            entry.setStatus(EmailOutboxStatus.FAILED);
+            logger.error("Giving up on email to: {} after {} attempts", entry.getRecipient(), attempts);
+            return;
+        }
+        entry.setNextAttemptAt(now.plus(backoff(attempts)));
+    }
+
+    // initialBackoff, 2x, 4x ... capped at maxBackoff
+    public Duration backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(1L << shift);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static SimpleMailMessage toMessage(EmailOutbox entry) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(entry.getRecipient());
+        message.setSubject(entry.getSubject());
+        message.setText(entry.getBody());
+        return message;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
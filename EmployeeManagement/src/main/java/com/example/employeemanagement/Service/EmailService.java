@@ -1,29 +1,81 @@
 package com.example.employeemanagement.Service;
 
+import com.example.employeemanagement.Model.EmailOutbox;
+import com.example.employeemanagement.Model.EmailOutboxStatus;
+import com.example.employeemanagement.Repository.EmailOutboxRepository;
+import com.example.employeemanagement.event.EmailQueuedEvent;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.concurrent.CompletableFuture;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
+// Emails are not sent here: they are written to the outbox in the caller's transaction
+// and sent later by EmailOutboxDispatcher, so a rollback never sends and a crash never loses them
 @Service
+@Timed("employee.email.queue")
 public class EmailService {
-    private final JavaMailSender mailSender;
+    public static final String WELCOME_SUBJECT = "Welcome!";
 
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EmailService(EmailOutboxRepository emailOutboxRepository, ApplicationEventPublisher eventPublisher) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public void queueEmail(String to, String subject, String body) {
+        emailOutboxRepository.save(newOutboxEntry(to, subject, body, Instant.now()));
+        eventPublisher.publishEvent(new EmailQueuedEvent(1));
+    }
+
+    @Transactional
+    public void queueEmails(List<SimpleMailMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        List<EmailOutbox> entries = new ArrayList<>(messages.size());
+        for (SimpleMailMessage message : messages) {
+            entries.add(newOutboxEntry(message.getTo()[0], message.getSubject(), message.getText(), now));
+        }
+        emailOutboxRepository.saveAll(entries);
+        eventPublisher.publishEvent(new EmailQueuedEvent(entries.size()));
+    }
+
+    public static String welcomeBody(String firstName) {
+        return "Dear " + firstName + ",\n\n" +
+                "Welcome to Our employee management system.\n" +
+                "We are thrilled to have you on board and excited to work with you. " +
+                "You can now log in and start your journey with us.\n\n" +
+                "Best regards,\n" +
+                "HR Team";
     }
 
-    @Async
-    public CompletableFuture<Void> sendEmail(String to, String subject, String body) {
+    public static SimpleMailMessage welcomeMessage(String to, String firstName) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
-
-        mailSender.send(message);
+        message.setSubject(WELCOME_SUBJECT);
+        message.setText(welcomeBody(firstName));
+        return message;
+    }
 
-        return CompletableFuture.completedFuture(null);
+    private static EmailOutbox newOutboxEntry(String to, String subject, String body, Instant now) {
+        EmailOutbox entry = new EmailOutbox();
+        entry.setRecipient(to);
+        entry.setSubject(subject);
+        entry.setBody(body);
+        entry.setStatus(EmailOutboxStatus.PENDING);
+        entry.setAttempts(0);
+        entry.setNextAttemptAt(now);
+        entry.setCreatedAt(now);
+        return entry;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package com.example.employeemanagement.Service;
+
+import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.DTO.EmployeePageDTO;
+import com.example.employeemanagement.DTO.VersionedEmployeesDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.async.AsyncConfig;
+import com.example.employeemanagement.datasource.ReadYourWrites;
+import com.example.employeemanagement.exception.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+// EmployeeService calls that return right away with a CompletableFuture, so the calling servlet
+// thread is free while validation and JDBC run. The calls go through the EmployeeService bean (cache,
+// timers) on an executor of their own (AsyncConfig.employeeAsyncExecutor): virtual threads on the
+// java21 profile, a fixed pool otherwise, never the bounded pool other async work shares. When that
+// pool is full the call fails with a 503. A read-your-writes pin travels along to the worker
+// thread; the shard is picked inside each call, so there is nothing else thread-bound to carry over.
+@Service
+public class EmployeeAsyncService {
+    private final EmployeeService employeeService;
+    private final Executor executor;
+
+    public EmployeeAsyncService(EmployeeService employeeService,
+                                @Qualifier(AsyncConfig.SERVICE_EXECUTOR) Executor executor) {
+        this.employeeService = employeeService;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Void> createEmployee(Employee employee) {
+        return supply(() -> {
+            employeeService.createEmployee(employee);
+            return null;
+        });
+    }
+
+    public CompletableFuture<EmployeeDTO> getEmployeeById(UUID id) {
+        return supply(() -> employeeService.getEmployeeById(id));
+    }
+
+    public CompletableFuture<EmployeeDTO> getEmployeeById(UUID id, long currentVersion) {
+        return supply(() -> employeeService.getEmployeeById(id, currentVersion));
+    }
+
+    public CompletableFuture<Long> getEmployeeVersion(UUID id) {
+        return supply(() -> employeeService.getEmployeeVersion(id));
+    }
+
+    public CompletableFuture<Employee> updateEmployee(UUID id, Employee updatedEmployee) {
+        return supply(() -> employeeService.updateEmployee(id, updatedEmployee));
+    }
+
+    public CompletableFuture<Void> deleteEmployee(UUID id, Long expectedVersion) {
+        return supply(() -> {
+            employeeService.deleteEmployee(id, expectedVersion);
+            return null;
+        });
+    }
+
+    public CompletableFuture<VersionedEmployeesDTO> getAllEmployeesWithVersion() {
+        return supply(employeeService::getAllEmployeesWithVersion);
+    }
+
+    public CompletableFuture<String> getEmployeeListVersion() {
+        return supply(employeeService::getEmployeeListVersion);
+    }
+
+    public CompletableFuture<EmployeePageDTO> getEmployeesPage(UUID after, int size) {
+        return supply(() -> employeeService.getEmployeesPage(after, size));
+    }
+
+    public CompletableFuture<Slice<EmployeeDTO>> searchEmployees(String department, String lastNamePrefix, BigDecimal minSalary,
+                                                                 BigDecimal maxSalary, Pageable pageable, boolean withTotal) {
+        return supply(() -> employeeService.searchEmployees(department, lastNamePrefix, minSalary, maxSalary, pageable, withTotal));
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> call) {
+        boolean pinned = ReadYourWrites.isPinned();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (pinned) {
+                    ReadYourWrites.pin();
+                }
+                try {
+                    return call.get();
+                } finally {
+                    if (pinned) {
+                        ReadYourWrites.unpin();
+                    }
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new ServiceOverloadedException("Too many async requests in progress"));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.employeemanagement.Service;
+
+import com.example.employeemanagement.DTO.BulkCreateResultDTO;
+import com.example.employeemanagement.DTO.BulkRowErrorDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.exception.InvalidInputException;
+import com.example.employeemanagement.sharding.EmailDirectory;
+import com.example.employeemanagement.sharding.ShardRouter;
+import com.example.employeemanagement.validation.ValidationPipeline;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Service
+public class EmployeeBulkService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBulkService.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final ValidationPipeline validationPipeline;
+    private final EmailService emailService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final EmailDirectory emailDirectory;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public EmployeeBulkService(EmployeeRepository employeeRepository,
+                               ValidationPipeline validationPipeline,
+                               EmailService emailService,
+                               Validator validator,
+                               TransactionTemplate transactionTemplate,
+                               EntityManager entityManager,
+                               ApplicationEventPublisher eventPublisher,
+                               ShardRouter shardRouter,
+                               EmailDirectory emailDirectory,
+                               @Value("${employee.bulk.chunk-size:500}") int chunkSize,
+                               @Value("${employee.bulk.max-rows:10000}") int maxRows) {
+        this.employeeRepository = employeeRepository;
+        this.validationPipeline = validationPipeline;
+        this.emailService = emailService;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.emailDirectory = emailDirectory;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    // Validates the whole batch first, then inserts the valid rows chunk by chunk.
+    // Every chunk is its own transaction (one per shard it touches), so one bad chunk never rolls back the others.
+    public BulkCreateResultDTO createEmployees(List<Employee> employees) {
+        if (employees == null || employees.isEmpty()) {
+            throw new InvalidInputException("Employee list can’t be empty");
+        }
+        if (employees.size() > maxRows) {
+            throw new InvalidInputException("A bulk request can contain at most " + maxRows + " employees");
+        }
+        logger.info("Starting bulk creation for {} employees", employees.size());
+
+        List<Integer> rowNumbers = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            rowNumbers.add(i);
+        }
+
+        BulkCreateResultDTO result = new BulkCreateResultDTO();
+        createEmployees(employees, rowNumbers, true, result);
+
+        logger.info("Bulk creation finished: {} created, {} rejected", result.getCreated(), result.getErrors().size());
+        return result;
+    }
+
+    // rowNumbers.get(i) is the number reported back in errors for employees.get(i)
+    public void createEmployees(List<Employee> employees, List<Integer> rowNumbers,
+                                boolean sendWelcomeEmail, BulkCreateResultDTO result) {
+        result.setReceived(result.getReceived() + employees.size());
+
+        List<Employee> valid = new ArrayList<>(employees.size());
+        List<Integer> validRows = new ArrayList<>(employees.size());
+        validate(employees, rowNumbers, result, valid, validRows);
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, valid.size());
+            insertChunk(valid.subList(from, to), validRows.subList(from, to), sendWelcomeEmail, result);
+        }
+    }
+
+    private void validate(List<Employee> employees, List<Integer> rowNumbers, BulkCreateResultDTO result,
+                          List<Employee> valid, List<Integer> validRows) {
+        // bean validation first, only the rows that pass it go to the (remote) checks, all at once
+        String[] errors = new String[employees.size()];
+        List<Employee> toCheck = new ArrayList<>(employees.size());
+        List<Integer> toCheckIndexes = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (employee == null) {
+                errors[i] = "Employee can’t be null";
+                continue;
+            }
+            Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+            if (!violations.isEmpty()) {
+                errors[i] = violations.iterator().next().getMessage();
+                continue;
+            }
+            toCheck.add(employee);
+            toCheckIndexes.add(i);
+        }
+        List<String> checkErrors = validationPipeline.checkAll(toCheck);
+        for (int j = 0; j < toCheckIndexes.size(); j++) {
+            errors[toCheckIndexes.get(j)] = checkErrors.get(j);
+        }
+
+        Map<String, Integer> emailsInBatch = new HashMap<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            int row = rowNumbers.get(i);
+
+            if (errors[i] != null) {
+                result.getErrors().add(new BulkRowErrorDTO(row, employee == null ? null : employee.getEmail(), errors[i]));
+                continue;
+            }
+
+            // exact match, like the unique constraint and the existing-email check in insertChunk
+            Integer firstRow = emailsInBatch.putIfAbsent(employee.getEmail(), row);
+            if (firstRow != null) {
+                result.getErrors().add(new BulkRowErrorDTO(row, employee.getEmail(), "Duplicate email, already used in row " + firstRow));
+                continue;
+            }
+
+            // bulk create always inserts, ids are generated by the database layer
+            employee.setId(null);
+            employee.setVersion(null);
+            valid.add(employee);
+            validRows.add(row);
+        }
+    }
+
+    private void insertChunk(List<Employee> chunk, List<Integer> rows, boolean sendWelcomeEmail, BulkCreateResultDTO result) {
+        // one query for the whole chunk instead of one per row; with sharding the emails are claimed
+        // instead, one transaction per shard that owns some of them (see EmailDirectory)
+        List<String> emails = chunk.stream().map(Employee::getEmail).toList();
+        Set<String> existingEmails = emailDirectory.isActive()
+                ? emailDirectory.claimAll(emails)
+                : new HashSet<>(employeeRepository.findExistingEmails(emails));
+
+        // the rows to insert, grouped by the shard of their department
+        Map<Integer, List<Employee>> toInsert = new TreeMap<>();
+        Map<Integer, List<Integer>> toInsertRows = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Employee employee = chunk.get(i);
+            if (existingEmails.contains(employee.getEmail())) {
+                result.getErrors().add(new BulkRowErrorDTO(rows.get(i), employee.getEmail(), "Email already exists"));
+            } else {
+                int shard = shardRouter.shardFor(employee.getDepartment());
+                toInsert.computeIfAbsent(shard, s -> new ArrayList<>(chunk.size())).add(employee);
+                toInsertRows.computeIfAbsent(shard, s -> new ArrayList<>(chunk.size())).add(rows.get(i));
+            }
+        }
+
+        // the claims of rows that could not be inserted are given back
+        List<String> failedEmails = new ArrayList<>();
+        toInsert.forEach((shard, employees) -> shardRouter.withShard(shard, () -> {
+            insert(employees, toInsertRows.get(shard), sendWelcomeEmail, result, failedEmails);
+            return null;
+        }));
+        emailDirectory.release(failedEmails);
+    }
+
+    private void insert(List<Employee> employees, List<Integer> rows, boolean sendWelcomeEmail, BulkCreateResultDTO result,
+                        List<String> failedEmails) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveAndClear(employees, sendWelcomeEmail));
+            result.setCreated(result.getCreated() + employees.size());
+        } catch (RuntimeException e) {
+            // the chunk was rolled back, retry row by row to find out which rows are bad
+            logger.warn("Bulk chunk of {} employees failed, retrying row by row", employees.size(), e);
+            insertRowByRow(employees, rows, sendWelcomeEmail, result, failedEmails);
+        }
+    }
+
+    private void insertRowByRow(List<Employee> employees, List<Integer> rows, boolean sendWelcomeEmail, BulkCreateResultDTO result,
+                                List<String> failedEmails) {
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            // the rolled back attempt already assigned an id and a version, clear both so the row is
+            // persisted as new rather than merged (which would also leave the event without the id)
+            employee.setId(null);
+            employee.setVersion(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveAndClear(List.of(employee), sendWelcomeEmail));
+                result.setCreated(result.getCreated() + 1);
+            } catch (RuntimeException e) {
+                String msg = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                result.getErrors().add(new BulkRowErrorDTO(rows.get(i), employee.getEmail(), msg));
+                failedEmails.add(employee.getEmail());
+            }
+        }
+    }
+
+    // saveAll + flush sends the inserts as JDBC batches (hibernate.jdbc.batch_size),
+    // clearing afterwards keeps the persistence context from growing across chunks.
+    // Welcome emails go to the outbox in the same transaction, so they only exist for committed rows.
+    private void saveAndClear(List<Employee> employees, boolean sendWelcomeEmail) {
+        employeeRepository.saveAll(employees);
+        for (Employee employee : employees) {
+            eventPublisher.publishEvent(EmployeeChangedEvent.created(employee));
+        }
+        if (sendWelcomeEmail) {
+            List<SimpleMailMessage> messages = new ArrayList<>(employees.size());
+            for (Employee employee : employees) {
+                messages.add(EmailService.welcomeMessage(employee.getEmail(), employee.getFirstName()));
+            }
+            emailService.queueEmails(messages);
+        }
+        employeeRepository.flush();
+        entityManager.clear();
+    }
+}
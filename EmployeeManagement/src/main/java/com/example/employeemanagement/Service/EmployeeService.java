@@ -1,152 +1,461 @@
 package com.example.employeemanagement.Service;
 
 import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.DTO.EmployeePageDTO;
+import com.example.employeemanagement.DTO.VersionedEmployeesDTO;
 import com.example.employeemanagement.Model.Employee;
 import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.Repository.EmployeeSpecifications;
+import com.example.employeemanagement.cache.EmployeeCache;
+import com.example.employeemanagement.cache.EmployeeCollectionVersion;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.exception.EmployeeConflictException;
 import com.example.employeemanagement.exception.EmployeeNotFoundException;
 import com.example.employeemanagement.exception.InvalidInputException;
+import com.example.employeemanagement.metrics.MetricsConfig;
+import com.example.employeemanagement.sharding.EmailDirectory;
+import com.example.employeemanagement.sharding.ShardRouter;
+import com.example.employeemanagement.validation.ValidationPipeline;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// Every public method is timed as employee.service (tags class and method)
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class EmployeeService {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
     private final EmployeeRepository employeeRepository;
     private final EmailService emailService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ValidationPipeline validationPipeline;
+    private final EmployeeCache employeeCache;
+    private final ShardRouter shardRouter;
+    private final EmployeeCollectionVersion employeeCollectionVersion;
+    private final EmailDirectory emailDirectory;
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("firstName", "lastName", "email", "department", "salary");
+    private static final String CONFLICT_MESSAGE = "Employee was changed by someone else, reload it and try again";
+    // the order databases sort UUID columns in, unsigned unlike UUID.compareTo
+    private static final Comparator<EmployeeDTO> ID_ORDER = (a, b) -> compareIds(a.getId(), b.getId());
+
+    // Validation runs before the transaction, no connection is held while remote checks are pending
     public void createEmployee(@Valid Employee employee) {
-        logger.info("Starting the creation process for employee: {}", employee.getEmail());
+        logger.debug("Starting the creation process for employee: {}", employee.getEmail());
+
+        // Email and department checks run concurrently, see ValidationPipeline
+        validationPipeline.validate(employee);
+        logger.debug("Validation passed for employee: {}", employee.getEmail());
+
+        // create always inserts: an id or version from the request body would make save() merge
+        // over the employee that has that id
+        employee.setId(null);
+        employee.setVersion(null);
+
+        int shard = shardRouter.shardFor(employee.getDepartment());
+        // with sharding the email is claimed on its own shard first, see EmailDirectory
+        emailDirectory.claim(employee.getEmail());
+        try {
+            insert(shard, employee);
+        } catch (RuntimeException e) {
+            emailDirectory.release(List.of(employee.getEmail()));
+            throw e;
+        }
+    }
+
+
+    // Read-through cache, entries are evicted once an update or delete commits (EmployeeCacheEvictor).
+    // Misses select the DTO directly, read-only so Hibernate never flushes or snapshots anything,
+    // on the shard the id points to (all shards when it doesn't tell, see ShardRouter.findFirst).
+    public EmployeeDTO getEmployeeById(UUID id) {
+        logger.debug("Fetching employee with ID: {}", id);
+
+        EmployeeDTO employee = employeeCache.get(id,
+                () -> shardRouter.findFirst(id, () -> employeeRepository.findDTOById(id)));
+        if (employee == null) {
+            throw notFound(id);
+        }
+
+        logger.debug("Employee found with ID: {}", id);
+        return employee;
+    }
 
-        // Validate email
-        if (!validateEmailWithThirdPartyAPI(employee.getEmail())) {
-            logger.error("Email validation failed for employee: {}", employee.getEmail());
-            throw new InvalidInputException("Email validation failed");
+    // For a conditional GET whose version lookup didn't match: a cached row of another version was
+    // written on another instance (or before its eviction reached us), it is dropped and reloaded
+    public EmployeeDTO getEmployeeById(UUID id, long currentVersion) {
+        EmployeeDTO cached = employeeCache.peek(id);
+        if (cached != null && !Long.valueOf(currentVersion).equals(cached.getVersion())) {
+            logger.debug("Cached employee {} has version {}, the row has {}", id, cached.getVersion(), currentVersion);
+            employeeCache.evict(id);
         }
-        logger.info("Email validation passed for employee: {}", employee.getEmail());
+        return getEmployeeById(id);
+    }
 
-        // Validate department
-        if (!validateDepartmentWithThirdPartyAPI(employee.getDepartment())) {
-            logger.error("Department validation failed for employee: {}", employee.getEmail());
-            throw new InvalidInputException("Department validation failed");
+    // For conditional GETs: a single column lookup. Never the cache, another instance may have
+    // changed the row since this one cached it.
+    public long getEmployeeVersion(UUID id) {
+        Long version = shardRouter.findFirst(id, () -> employeeRepository.findVersionById(id));
+        if (version == null) {
+            throw new EmployeeNotFoundException("Employee not found");
         }
-        logger.info("Department validation passed for employee: {}", employee.getEmail());
+        return version;
+    }
 
-        // Saving the employee to the database
-        logger.info("Saving employee with ID: {}", employee.getId());
-        employeeRepository.save(employee);
+    // One UPDATE statement, no read first. With a version in the body the update only applies if the
+    // row still has that version. Without one the last write wins, and the new version is read back
+    // in the same transaction (our update holds the row lock, so it is exactly the version we wrote).
+    // With sharding the row is located first, and a department on another shard moves the employee.
+    public Employee updateEmployee(UUID id, Employee updatedEmployee) {
+        logger.debug("Updating employee with ID: {}", id);
 
-        // success
-        logger.info("Employee created successfully with ID: {}", employee.getId());
+        int home = shardRouter.locate(id, () -> employeeRepository.existsById(id));
+        if (home < 0) {
+            throw notFound(id);
+        }
+        int target = shardRouter.shardFor(updatedEmployee.getDepartment());
+        // a new email is claimed before the write and the old one released after it
+        String previousEmail = emailDirectory.isActive()
+                ? shardRouter.inReadOnlyTransaction(home, () -> employeeRepository.findEmailById(id))
+                : null;
+        boolean newEmail = previousEmail != null && !previousEmail.equals(updatedEmployee.getEmail());
+        if (newEmail) {
+            emailDirectory.claim(updatedEmployee.getEmail());
+        }
 
-        // Sending email after employee creation
+        Employee employee;
         try {
-            String emailSubject = "Welcome!";
-            String emailBody = "Dear " + employee.getFirstName() + ",\n\n" +
-                    "Welcome to Our employee management system.\n" +
-                    "We are thrilled to have you on board and excited to work with you. " +
-                    "You can now log in and start your journey with us.\n\n" +
-                    "Best regards,\n" +
-                    "HR Team";
-            emailService.sendEmail(employee.getEmail(), emailSubject, emailBody);
+            employee = home == target
+                    ? shardRouter.inTransaction(home, () -> updateInPlace(id, updatedEmployee))
+                    : moveToShard(id, updatedEmployee, home, target);
+        } catch (RuntimeException e) {
+            if (newEmail) {
+                emailDirectory.release(List.of(updatedEmployee.getEmail()));
+            }
+            throw e;
+        }
+        if (newEmail) {
+            emailDirectory.release(List.of(previousEmail));
+        }
+
+        logger.debug("Employee with ID: {} updated successfully", id);
+        return employee;
+    }
+
+    // One DELETE statement, with a version it only applies if nobody changed the row meanwhile
+    public void deleteEmployee(UUID id, Long expectedVersion) {
+        logger.debug("Deleting employee with ID: {}", id);
+
+        int home = shardRouter.locate(id, () -> employeeRepository.existsById(id));
+        if (home < 0) {
+            throw notFound(id);
+        }
+        String email = shardRouter.inTransaction(home, () -> {
+            String current = emailDirectory.isActive() ? employeeRepository.findEmailById(id) : null;
+            int deleted = expectedVersion == null
+                    ? employeeRepository.deleteEmployeeById(id)
+                    : employeeRepository.deleteEmployeeByIdAndVersion(id, expectedVersion);
+            if (deleted == 0) {
+                throw notFoundOrConflict(id, expectedVersion);
+            }
 
-            // Log email sent successfully
-            logger.info("Welcome email sent successfully to: {}", employee.getEmail());
-        } catch (Exception e) {
-            // Log email sending failure
-            logger.error("Failed to send welcome email to: {}", employee.getEmail(), e);
+            eventPublisher.publishEvent(EmployeeChangedEvent.deleted(id));
+            return current;
+        });
+        if (email != null) {
+            emailDirectory.release(List.of(email));
         }
+        logger.debug("Employee with ID: {} deleted successfully", id);
     }
 
+    // Scatter-gather: every shard is read in parallel, each in its own read-only transaction
+    public List<EmployeeDTO> getAllEmployees() {
+        logger.debug("Fetching all employees");
 
-    public EmployeeDTO getEmployeeById(UUID id) {
-        logger.info("Fetching employee with ID: {}", id);
+        return merge(shardRouter.scatter(
+                shard -> shardRouter.inReadOnlyTransaction(shard, employeeRepository::findAllDTOs)));
+    }
 
-        Employee employee = employeeRepository.findEmployeeById(id);
-        if (employee == null) {
-            logger.error("Employee not found with ID: {}", id);
-            throw new EmployeeNotFoundException("Employee not found");
+    // Like getAllEmployees, every shard's version is read in the transaction that reads its rows
+    public VersionedEmployeesDTO getAllEmployeesWithVersion() {
+        logger.debug("Fetching all employees with their version");
+
+        List<VersionedEmployeesDTO> perShard = shardRouter.scatter(shard -> shardRouter.inReadOnlyTransaction(shard,
+                () -> new VersionedEmployeesDTO(employeeCollectionVersion.read(), employeeRepository.findAllDTOs())));
+        if (perShard.size() == 1) {
+            return perShard.get(0);
         }
+        return new VersionedEmployeesDTO(
+                String.join(".", perShard.stream().map(VersionedEmployeesDTO::getVersion).toList()),
+                merge(perShard.stream().map(VersionedEmployeesDTO::getEmployees).toList()));
+    }
 
-        logger.info("Employee found with ID: {}", id);
-        EmployeeDTO employeeDTO = new EmployeeDTO(
-                employee.getFirstName(),
-                employee.getLastName(),
-                employee.getEmail(),
-                employee.getDepartment(),
-                employee.getSalary()
-        );
+    // The version getAllEmployeesWithVersion would return now, one single row query per shard
+    public String getEmployeeListVersion() {
+        return String.join(".", shardRouter.scatter(
+                shard -> shardRouter.inReadOnlyTransaction(shard, employeeCollectionVersion::read)));
+    }
 
-        return employeeDTO;
+    private static List<EmployeeDTO> merge(List<List<EmployeeDTO>> perShard) {
+        if (perShard.size() == 1) {
+            return perShard.get(0);
+        }
+        List<EmployeeDTO> employees = new ArrayList<>(perShard.stream().mapToInt(List::size).sum());
+        perShard.forEach(employees::addAll);
+        return employees;
     }
 
-    public Employee updateEmployee(UUID id, Employee updatedEmployee) {
-        logger.info("Updating employee with ID: {}", id);
-        Employee existingEmployee =employeeRepository.findEmployeeById(id);
-        if (existingEmployee == null) {
-            logger.error("Employee not found for update with ID: {}", id);
-            throw new EmployeeNotFoundException("Employee not found");
+    // Keyset page: pass the nextCursor of the previous page as "after" (null for the first page).
+    // Every shard returns its next size rows, the page is the lowest size ids among them.
+    public EmployeePageDTO getEmployeesPage(UUID after, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Page size must be between 1 and " + MAX_PAGE_SIZE);
         }
 
-        existingEmployee.setFirstName(updatedEmployee.getFirstName());
-        existingEmployee.setLastName(updatedEmployee.getLastName());
-        existingEmployee.setEmail(updatedEmployee.getEmail());
-        existingEmployee.setDepartment(updatedEmployee.getDepartment());
-        existingEmployee.setSalary(updatedEmployee.getSalary());
+        List<List<EmployeeDTO>> perShard = shardRouter.scatter(shard -> shardRouter.inReadOnlyTransaction(shard,
+                () -> after == null
+                        ? employeeRepository.findDTOsOrderById(Limit.of(size))
+                        : employeeRepository.findDTOsAfterOrderById(after, Limit.of(size))));
+        List<EmployeeDTO> employees = perShard.size() == 1 ? perShard.get(0) : merge(perShard, ID_ORDER, 0, size);
 
-        logger.info("Employee with ID: {} updated successfully", id);
-        return employeeRepository.save(existingEmployee);
+        // a short page means we reached the end
+        UUID nextCursor = employees.size() == size ? employees.get(employees.size() - 1).getId() : null;
+        return new EmployeePageDTO(employees, nextCursor);
     }
 
-    public void deleteEmployee(UUID id) {
-        logger.info("Deleting employee with ID: {}", id);
-        Employee employee = employeeRepository.findEmployeeById(id);
-        if (employee == null) {
-            logger.error("Employee not found for deletion with ID: {}", id);
-            throw new EmployeeNotFoundException("Employee not found");
+    // Filters are optional and combined with AND, all of them are backed by indexes on Employee.
+    // The total count costs a second query over every match, so it only runs with withTotal;
+    // otherwise one extra row is fetched to tell whether there is a next page.
+    // With sharding every shard returns its matches up to the end of the page, which are merged
+    // in sort order, so later pages cost more than early ones.
+    public Slice<EmployeeDTO> searchEmployees(String department, String lastNamePrefix, BigDecimal minSalary,
+                                              BigDecimal maxSalary, Pageable pageable, boolean withTotal) {
+        logger.debug("Searching employees, department: {}, last name prefix: {}", department, lastNamePrefix);
+
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (minSalary != null && maxSalary != null && minSalary.compareTo(maxSalary) > 0) {
+            throw new InvalidInputException("minSalary must not be greater than maxSalary");
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_FIELDS.contains(order.getProperty())) {
+                throw new InvalidInputException("Cannot sort by: " + order.getProperty());
+            }
+        }
+
+        Specification<Employee> filter = Specification.where(EmployeeSpecifications.hasDepartment(blankToNull(department)))
+                .and(EmployeeSpecifications.lastNameStartsWith(blankToNull(lastNamePrefix)))
+                .and(EmployeeSpecifications.salaryAtLeast(minSalary))
+                .and(EmployeeSpecifications.salaryAtMost(maxSalary));
+
+        if (shardRouter.shardCount() == 1) {
+            return shardRouter.inReadOnlyTransaction(0, () -> search(filter, pageable, withTotal));
+        }
+        Pageable upToPageEnd = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), pageable.getSort());
+        List<Slice<EmployeeDTO>> perShard = shardRouter.scatter(shard -> shardRouter.inReadOnlyTransaction(shard,
+                () -> search(filter, upToPageEnd, withTotal)));
+
+        List<EmployeeDTO> employees = merge(perShard.stream().map(Slice::getContent).toList(),
+                comparator(pageable.getSort()), (int) pageable.getOffset(), pageable.getPageSize());
+        if (withTotal) {
+            long total = perShard.stream().mapToLong(shardPage -> ((Page<EmployeeDTO>) shardPage).getTotalElements()).sum();
+            return new PageImpl<>(employees, pageable, total);
         }
-        employeeRepository.delete(employee);
-        logger.info("Employee with ID: {} deleted successfully", id);
+        long fetched = perShard.stream().mapToLong(Slice::getNumberOfElements).sum();
+        boolean hasNext = fetched > pageable.getOffset() + pageable.getPageSize() || perShard.stream().anyMatch(Slice::hasNext);
+        return new SliceImpl<>(employees, pageable, hasNext);
     }
 
-    public List<EmployeeDTO> getAllEmployees() {
-        logger.info("Fetching all employees");
+    private Slice<EmployeeDTO> search(Specification<Employee> filter, Pageable pageable, boolean withTotal) {
+        Slice<Employee> employees = withTotal
+                ? employeeRepository.findAll(filter, pageable)
+                : employeeRepository.findSlice(filter, pageable);
+        return employees.map(this::toDTO);
+    }
+
+    // Streams every employee to the consumer one row at a time, each entity is detached
+    // right after mapping so the persistence context never grows with the table.
+    // Shards are streamed one after the other, each in its own read-only transaction.
+    public void streamAllEmployees(Consumer<EmployeeDTO> consumer) {
+        logger.debug("Streaming all employees");
+
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            shardRouter.inReadOnlyTransactionOnce(shard, () -> {
+                try (Stream<Employee> employees = employeeRepository.streamAll()) {
+                    employees.forEach(employee -> {
+                        EmployeeDTO employeeDTO = toDTO(employee);
+                        entityManager.detach(employee);
+                        consumer.accept(employeeDTO);
+                    });
+                }
+                return null;
+            });
+        }
+    }
+
+    private void insert(int shard, Employee employee) {
+        shardRouter.inTransaction(shard, () -> {
+            // Saving the employee to the database
+            logger.debug("Saving employee with ID: {}", employee.getId());
+            employeeRepository.save(employee);
+            eventPublisher.publishEvent(EmployeeChangedEvent.created(employee));
+
+            // success
+            logger.debug("Employee created successfully with ID: {}", employee.getId());
+
+            // Queue the welcome email in the same transaction, EmailOutboxDispatcher sends it after commit
+            emailService.queueEmail(employee.getEmail(), EmailService.WELCOME_SUBJECT,
+                    EmailService.welcomeBody(employee.getFirstName()));
+            logger.debug("Welcome email queued for: {}", employee.getEmail());
+            return null;
+        });
+    }
 
-        List<Employee> employees = employeeRepository.findAll();
-        List<EmployeeDTO> employeeDTOList = new ArrayList<>();
+    // Runs in a transaction on the employee's shard
+    private Employee updateInPlace(UUID id, Employee updatedEmployee) {
+        Long expectedVersion = updatedEmployee.getVersion();
+        int updated = expectedVersion == null
+                ? employeeRepository.updateById(id, updatedEmployee.getFirstName(), updatedEmployee.getLastName(),
+                        updatedEmployee.getEmail(), updatedEmployee.getDepartment(), updatedEmployee.getSalary())
+                : employeeRepository.updateByIdAndVersion(id, expectedVersion, updatedEmployee.getFirstName(),
+                        updatedEmployee.getLastName(), updatedEmployee.getEmail(), updatedEmployee.getDepartment(),
+                        updatedEmployee.getSalary());
+        if (updated == 0) {
+            throw notFoundOrConflict(id, expectedVersion);
+        }
+
+        updatedEmployee.setId(id);
+        updatedEmployee.setVersion(expectedVersion == null ? employeeRepository.findVersionById(id) : expectedVersion + 1);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(updatedEmployee));
+        return updatedEmployee;
+    }
+
+    // Two databases, no shared transaction: the row is copied to the new shard first and the copy is
+    // removed again when the old row changed before it could be deleted. Readers may briefly find
+    // the employee on both shards, never on neither.
+    private Employee moveToShard(UUID id, Employee updatedEmployee, int from, int to) {
+        Long expectedVersion = updatedEmployee.getVersion();
+        Long currentVersion = shardRouter.inReadOnlyTransaction(from, () -> employeeRepository.findVersionById(id));
+        if (currentVersion == null) {
+            throw notFound(id);
+        }
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new EmployeeConflictException(CONFLICT_MESSAGE);
+        }
 
-        for (Employee employee : employees) {
-            EmployeeDTO employeeDTO = new EmployeeDTO(
-                    employee.getFirstName(),
-                    employee.getLastName(),
-                    employee.getEmail(),
-                    employee.getDepartment(),
-                    employee.getSalary()
-            );
-            employeeDTOList.add(employeeDTO);
+        long version = currentVersion + 1;
+        // no event on the target shard, its list version is bumped here
+        shardRouter.inTransaction(to, () -> {
+            employeeCollectionVersion.changed();
+            return employeeRepository.insertWithId(id, updatedEmployee.getFirstName(),
+                    updatedEmployee.getLastName(), updatedEmployee.getEmail(), updatedEmployee.getDepartment(),
+                    updatedEmployee.getSalary(), version);
+        });
+        int deleted = shardRouter.inTransaction(from, () -> {
+            int rows = employeeRepository.deleteEmployeeByIdAndVersion(id, currentVersion);
+            if (rows > 0) {
+                updatedEmployee.setId(id);
+                updatedEmployee.setVersion(version);
+                eventPublisher.publishEvent(EmployeeChangedEvent.updated(updatedEmployee));
+            }
+            return rows;
+        });
+        if (deleted == 0) {
+            shardRouter.inTransaction(to, () -> {
+                employeeCollectionVersion.changed();
+                return employeeRepository.deleteEmployeeById(id);
+            });
+            throw new EmployeeConflictException(CONFLICT_MESSAGE);
         }
 
-        return employeeDTOList;
+        logger.info("Employee with ID: {} moved from shard {} to shard {}", id, from, to);
+        return updatedEmployee;
     }
 
+    // The first limit rows from offset of the shard results merged in order
+    private static List<EmployeeDTO> merge(List<List<EmployeeDTO>> perShard, Comparator<EmployeeDTO> order,
+                                           int offset, int limit) {
+        List<EmployeeDTO> merged = new ArrayList<>();
+        perShard.forEach(merged::addAll);
+        merged.sort(order);
+        int from = Math.min(offset, merged.size());
+        return new ArrayList<>(merged.subList(from, Math.min(from + limit, merged.size())));
+    }
 
+    private static Comparator<EmployeeDTO> comparator(Sort sort) {
+        Comparator<EmployeeDTO> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<EmployeeDTO> field = switch (order.getProperty()) {
+                case "firstName" -> Comparator.comparing(EmployeeDTO::getFirstName);
+                case "lastName" -> Comparator.comparing(EmployeeDTO::getLastName);
+                case "email" -> Comparator.comparing(EmployeeDTO::getEmail);
+                case "department" -> Comparator.comparing(EmployeeDTO::getDepartment);
+                case "salary" -> Comparator.comparing(EmployeeDTO::getSalary);
+                default -> throw new InvalidInputException("Cannot sort by: " + order.getProperty());
+            };
+            comparator = comparator.thenComparing(order.isAscending() ? field : field.reversed());
+        }
+        return comparator.thenComparing(ID_ORDER);
+    }
+
+    private static int compareIds(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
 
-    private boolean validateEmailWithThirdPartyAPI(String email) {
-        logger.info("Validating email: {}", email);
-        return email.contains("@");
+    private RuntimeException notFound(UUID id) {
+        logger.error("Employee not found with ID: {}", id);
+        return new EmployeeNotFoundException("Employee not found");
     }
 
-    private boolean validateDepartmentWithThirdPartyAPI(String department) {
-        logger.info("Validating department: {}", department);
-        return department != null && (department.equalsIgnoreCase("HR")
-                || department.equalsIgnoreCase("Operation")
-                || department.equalsIgnoreCase("Finance"));
+    // Only called when a write changed nothing, so the extra query is off the happy path
+    private RuntimeException notFoundOrConflict(UUID id, Long expectedVersion) {
+        if (expectedVersion != null && employeeRepository.existsById(id)) {
+            logger.debug("Stale version {} for employee with ID: {}", expectedVersion, id);
+            return new EmployeeConflictException(CONFLICT_MESSAGE);
+        }
+        return notFound(id);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private EmployeeDTO toDTO(Employee employee) {
+        return new EmployeeDTO(
+                employee.getId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getDepartment(),
+                employee.getSalary(),
+                employee.getVersion()
+        );
     }
 }
@@ -0,0 +1,253 @@
+package com.example.employeemanagement.Service;
+
+import com.example.employeemanagement.DTO.BulkCreateResultDTO;
+import com.example.employeemanagement.DTO.BulkRowErrorDTO;
+import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.exception.InvalidInputException;
+import com.example.employeemanagement.transfer.ChannelTextReader;
+import com.example.employeemanagement.transfer.ChannelTextWriter;
+import com.example.employeemanagement.transfer.CsvRecordReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Whole-table export and import as CSV or NDJSON for the nightly payroll transfer.
+// Both directions go through NIO channels and fixed size direct buffers, so memory does not
+// depend on the number of rows: export streams from the repository, import hands the rows to
+// EmployeeBulkService one chunk at a time. Imported employees don't get a welcome email.
+@Service
+public class EmployeeTransferService {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeTransferService.class);
+
+    static final List<String> CSV_COLUMNS = List.of("id", "firstName", "lastName", "email", "department", "salary", "version");
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("firstName", "lastName", "email", "department", "salary");
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format of(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidInputException("Unknown format: " + value + " (expected csv or ndjson)");
+            }
+        }
+    }
+
+    private final EmployeeService employeeService;
+    private final EmployeeBulkService employeeBulkService;
+    private final ObjectWriter dtoWriter;
+    private final ObjectReader employeeReader;
+    private final int bufferSize;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public EmployeeTransferService(EmployeeService employeeService,
+                                   EmployeeBulkService employeeBulkService,
+                                   ObjectMapper objectMapper,
+                                   @Value("${employee.transfer.buffer-size:65536}") int bufferSize,
+                                   @Value("${employee.bulk.chunk-size:500}") int chunkSize,
+                                   @Value("${employee.transfer.max-reported-errors:1000}") int maxReportedErrors) {
+        this.employeeService = employeeService;
+        this.employeeBulkService = employeeBulkService;
+        this.dtoWriter = objectMapper.writerFor(EmployeeDTO.class);
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+        this.bufferSize = bufferSize;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    // Writes every employee to the channel, the caller closes it
+    public void exportEmployees(Format format, WritableByteChannel channel) throws IOException {
+        ChannelTextWriter writer = new ChannelTextWriter(channel, bufferSize);
+        StringBuilder line = new StringBuilder(256);
+        long[] rows = new long[1];
+
+        if (format == Format.CSV) {
+            writer.write(String.join(",", CSV_COLUMNS) + "\n");
+        }
+        try {
+            employeeService.streamAllEmployees(employee -> {
+                try {
+                    if (format == Format.CSV) {
+                        line.setLength(0);
+                        appendCsv(line, employee);
+                        writer.write(line);
+                    } else {
+                        writer.write(dtoWriter.writeValueAsBytes(employee));
+                        writer.write("\n");
+                    }
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        logger.info("Exported {} employees as {}", rows[0], format);
+    }
+
+    // Reads employees from the channel and creates them chunk by chunk.
+    // Errors carry the line number, only the first max-reported-errors are kept.
+    public BulkCreateResultDTO importEmployees(Format format, ReadableByteChannel channel) throws IOException {
+        ChannelTextReader reader = new ChannelTextReader(channel, bufferSize);
+        Chunk chunk = new Chunk();
+
+        if (format == Format.CSV) {
+            importCsv(new CsvRecordReader(reader), chunk);
+        } else {
+            importNdjson(reader, chunk);
+        }
+        chunk.flush();
+
+        BulkCreateResultDTO result = chunk.result;
+        logger.info("Imported {} of {} employees as {}, {} rejected", result.getCreated(), result.getReceived(), format,
+                result.getReceived() - result.getCreated());
+        return result;
+    }
+
+    private void importCsv(CsvRecordReader csv, Chunk chunk) throws IOException {
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new InvalidInputException("The file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_CSV_COLUMNS) {
+            if (!columns.containsKey(required.toLowerCase(Locale.ROOT))) {
+                throw new InvalidInputException("Missing CSV column: " + required);
+            }
+        }
+        int firstName = columns.get("firstname");
+        int lastName = columns.get("lastname");
+        int email = columns.get("email");
+        int department = columns.get("department");
+        int salary = columns.get("salary");
+
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            int line = Math.toIntExact(csv.recordLine());
+            if (fields.size() != header.size()) {
+                chunk.reject(line, null, "Expected " + header.size() + " fields but found " + fields.size());
+                continue;
+            }
+            Employee employee = new Employee();
+            employee.setFirstName(emptyToNull(fields.get(firstName)));
+            employee.setLastName(emptyToNull(fields.get(lastName)));
+            employee.setEmail(emptyToNull(fields.get(email)));
+            employee.setDepartment(emptyToNull(fields.get(department)));
+            String salaryValue = emptyToNull(fields.get(salary));
+            if (salaryValue != null) {
+                try {
+                    employee.setSalary(new BigDecimal(salaryValue.trim()));
+                } catch (NumberFormatException e) {
+                    chunk.reject(line, employee.getEmail(), "Salary is not a number: " + salaryValue);
+                    continue;
+                }
+            }
+            chunk.add(employee, line);
+        }
+    }
+
+    private void importNdjson(ChannelTextReader reader, Chunk chunk) throws IOException {
+        StringBuilder line = new StringBuilder(256);
+        int lineNumber = 0;
+        while (reader.readLine(line)) {
+            lineNumber++;
+            String json = line.toString();
+            if (!json.isBlank()) {
+                try {
+                    chunk.add(employeeReader.readValue(json), lineNumber);
+                } catch (JsonProcessingException e) {
+                    chunk.reject(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            line.setLength(0);
+        }
+    }
+
+    private static void appendCsv(StringBuilder line, EmployeeDTO employee) {
+        CsvRecordReader.appendField(line, String.valueOf(employee.getId()));
+        line.append(',');
+        CsvRecordReader.appendField(line, employee.getFirstName());
+        line.append(',');
+        CsvRecordReader.appendField(line, employee.getLastName());
+        line.append(',');
+        CsvRecordReader.appendField(line, employee.getEmail());
+        line.append(',');
+        CsvRecordReader.appendField(line, employee.getDepartment());
+        line.append(',');
+        if (employee.getSalary() != null) {
+            line.append(employee.getSalary().toPlainString());
+        }
+        line.append(',');
+        if (employee.getVersion() != null) {
+            line.append(employee.getVersion());
+        }
+        line.append('\n');
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    // Rows waiting for the next bulk insert, plus the running result
+    private class Chunk {
+        private final BulkCreateResultDTO result = new BulkCreateResultDTO();
+        private final List<Employee> employees = new ArrayList<>(chunkSize);
+        private final List<Integer> lines = new ArrayList<>(chunkSize);
+
+        void add(Employee employee, int line) {
+            employees.add(employee);
+            lines.add(line);
+            if (employees.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        // a line that could not even be parsed still counts as received
+        void reject(int line, String email, String message) {
+            result.setReceived(result.getReceived() + 1);
+            result.getErrors().add(new BulkRowErrorDTO(line, email, message));
+            capErrors();
+        }
+
+        void flush() {
+            if (employees.isEmpty()) {
+                return;
+            }
+            employeeBulkService.createEmployees(employees, lines, false, result);
+            employees.clear();
+            lines.clear();
+            capErrors();
+        }
+
+        private void capErrors() {
+            List<BulkRowErrorDTO> errors = result.getErrors();
+            if (errors.size() > maxReportedErrors) {
+                errors.subList(maxReportedErrors, errors.size()).clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.employeemanagement.Service;
+
+import com.example.employeemanagement.DTO.NameMatchDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.search.NameTrigramIndex;
+import com.example.employeemanagement.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Fuzzy name typeahead backed by NameTrigramIndex, loaded when the application starts and kept
+// in sync from EmployeeChangedEvent after every create, update and delete commits.
+@Service
+public class NameSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(NameSearchService.class);
+
+    public static final int MAX_LIMIT = 50;
+
+    private final EmployeeRepository employeeRepository;
+    private final EntityManager entityManager;
+    private final ShardRouter shardRouter;
+    private final double minScore;
+    private final boolean rebuildOnStartup;
+
+    // replaced as a whole by rebuild, searches never see a half loaded index
+    private volatile NameTrigramIndex index = new NameTrigramIndex();
+    // changes committed while a rebuild loads, replayed onto the new index before it is swapped in;
+    // null when no rebuild runs. Guarded by changesLock, which also orders changes against the swap.
+    private List<EmployeeChangedEvent> changesDuringRebuild;
+    private final Object changesLock = new Object();
+
+    public NameSearchService(EmployeeRepository employeeRepository,
+                             EntityManager entityManager,
+                             ShardRouter shardRouter,
+                             @Value("${employee.typeahead.min-score:0.5}") double minScore,
+                             @Value("${employee.typeahead.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.shardRouter = shardRouter;
+        this.minScore = minScore;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    // Loads every name from the employee table of every shard into a new index, which replaces the
+    // current one once complete. Searches keep using the old index meanwhile. A change that commits
+    // during the load is applied to the old index and again to the new one after the load, so a row
+    // the load read before it was deleted does not come back.
+    public synchronized void rebuild() {
+        synchronized (changesLock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        NameTrigramIndex fresh = new NameTrigramIndex();
+        try {
+            load(fresh);
+            synchronized (changesLock) {
+                changesDuringRebuild.forEach(event -> apply(fresh, event));
+                index = fresh;
+            }
+        } finally {
+            synchronized (changesLock) {
+                changesDuringRebuild = null;
+            }
+        }
+        logger.info("Name index rebuilt: {} employees", fresh.size());
+    }
+
+    private void load(NameTrigramIndex target) {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            shardRouter.inReadOnlyTransactionOnce(shard, () -> {
+                try (Stream<Employee> employees = employeeRepository.streamAll()) {
+                    employees.forEach(employee -> {
+                        target.put(employee.getId(), employee.getFirstName(), employee.getLastName());
+                        entityManager.detach(employee);
+                    });
+                }
+                return null;
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        synchronized (changesLock) {
+            apply(index, event);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+        }
+    }
+
+    private static void apply(NameTrigramIndex target, EmployeeChangedEvent event) {
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED) {
+            target.remove(event.getId());
+        } else {
+            target.put(event.getId(), event.getFirstName(), event.getLastName());
+        }
+    }
+
+    // Best matches first, the limit is capped at MAX_LIMIT
+    public List<NameMatchDTO> typeahead(String query, int limit) {
+        return index.search(query, Math.min(Math.max(limit, 1), MAX_LIMIT), minScore);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.employeemanagement.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Concurrency limit that follows latency, the gradient algorithm of Netflix's concurrency-limits.
+// Every window of samples compares the window's average latency with a baseline, the lowest seen:
+// as fast as usual (within TOLERANCE) and the limit is in use, it grows by about sqrt(limit);
+// slower means requests queue somewhere (connection pool, CPU) and it shrinks in proportion.
+// Requests over the limit are turned away at once instead of queueing, which keeps the latency
+// of the admitted ones near the baseline.
+public class AdaptiveConcurrencyLimit {
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    // the baseline follows lower latency at once and higher latency only over this many windows,
+    // slow enough that an overload doesn't become the new normal before the limit has shrunk
+    private static final int BASELINE_WINDOWS = 200;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // guarded by this
+    private double estimatedLimit;
+    private double baselineNanos;
+    private long windowNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, int windowSize) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit || windowSize < 1) {
+            throw new IllegalArgumentException("Expected 1 <= min-limit <= initial-limit <= max-limit and a positive window");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Once per admitted request, with how long it took
+    public void release(long latencyNanos) {
+        int before = inFlight.getAndDecrement();
+        onSample(latencyNanos, before);
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightBefore) {
+        windowNanos += latencyNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightBefore);
+        if (windowSamples < windowSize) {
+            return;
+        }
+
+        double recent = Math.max(1, (double) windowNanos / windowSamples);
+        if (baselineNanos == 0 || recent < baselineNanos) {
+            baselineNanos = recent;
+        } else {
+            baselineNanos += (recent - baselineNanos) / BASELINE_WINDOWS;
+        }
+
+        // a limit that isn't even half used says nothing about capacity
+        if (windowMaxInFlight >= estimatedLimit / 2) {
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineNanos / recent));
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+            limit = (int) estimatedLimit;
+        }
+
+        windowNanos = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.employeemanagement.admission;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// One EndpointLimiter per EndpointCost, set up from employee.admission.<cost>.* on top of the
+// enum's defaults. employee.admission.enabled=false turns admission control off.
+@Configuration
+@ConditionalOnProperty(prefix = "employee.admission", name = "enabled", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+    private final Map<EndpointCost, EndpointLimiter> limiters = new EnumMap<>(EndpointCost.class);
+
+    public AdmissionConfig(Environment environment,
+                           MeterRegistry meterRegistry,
+                           @Value("${employee.admission.window-size:50}") int windowSize) {
+        for (EndpointCost cost : EndpointCost.values()) {
+            String prefix = "employee.admission." + cost.propertyName() + ".";
+            double rate = environment.getProperty(prefix + "rate", Double.class, cost.rate);
+            int burst = environment.getProperty(prefix + "burst", Integer.class, cost.burst);
+            int initialLimit = environment.getProperty(prefix + "initial-limit", Integer.class, cost.initialLimit);
+            int minLimit = environment.getProperty(prefix + "min-limit", Integer.class, 1);
+            int maxLimit = environment.getProperty(prefix + "max-limit", Integer.class, cost.maxLimit);
+            limiters.put(cost, new EndpointLimiter(cost, new TokenBucket(rate, burst),
+                    new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, windowSize), meterRegistry));
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionInterceptor(limiters));
+    }
+}
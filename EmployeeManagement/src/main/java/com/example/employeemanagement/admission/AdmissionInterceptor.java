@@ -0,0 +1,49 @@
+package com.example.employeemanagement.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+
+// Admits or rejects every request to a method annotated with @Admission before any work is done,
+// so an overloaded server answers 429/503 in microseconds instead of queueing on threads and
+// connections. The slot is held until the response is complete, also for async (streaming) handlers.
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+    private static final String ADMITTED = AdmissionInterceptor.class.getName() + ".admitted";
+
+    private final Map<EndpointCost, EndpointLimiter> limiters;
+
+    public AdmissionInterceptor(Map<EndpointCost, EndpointLimiter> limiters) {
+        this.limiters = limiters;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || request.getAttribute(ADMITTED) != null) {
+            // not ours, or the async dispatch of a request admitted before
+            return true;
+        }
+        Admission admission = method.getMethodAnnotation(Admission.class);
+        EndpointLimiter limiter = admission == null ? null : limiters.get(admission.value());
+        if (limiter == null) {
+            return true;
+        }
+        limiter.admit();
+        request.setAttribute(ADMITTED, new Ticket(limiter, System.nanoTime()));
+        return true;
+    }
+
+    // Not called after the first dispatch of an async request, only after the last one
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMITTED) instanceof Ticket ticket) {
+            request.removeAttribute(ADMITTED);
+            ticket.limiter().release(System.nanoTime() - ticket.startNanos());
+        }
+    }
+
+    private record Ticket(EndpointLimiter limiter, long startNanos) {
+    }
+}
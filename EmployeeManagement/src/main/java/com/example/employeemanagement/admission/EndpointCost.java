@@ -0,0 +1,34 @@
+package com.example.employeemanagement.admission;
+
+import java.util.Locale;
+
+// Endpoints are limited per class of cost, so a burst of full-table reads can't use up the
+// capacity of cheap lookups. Defaults, each one can be overridden with
+// employee.admission.<name>.rate / burst / initial-limit / min-limit / max-limit.
+public enum EndpointCost {
+    // single row by primary key, usually from the cache
+    BY_ID(2000, 500, 50, 200),
+    // whole table or many rows: get-all, page, search, stream, export, rebuilds of the in-memory views
+    LIST(50, 10, 4, 16),
+    // one row written
+    WRITE(500, 100, 20, 100),
+    // thousands of rows written in one request: bulk create, import
+    BULK(5, 2, 2, 4);
+
+    final double rate;
+    final int burst;
+    final int initialLimit;
+    final int maxLimit;
+
+    EndpointCost(double rate, int burst, int initialLimit, int maxLimit) {
+        this.rate = rate;
+        this.burst = burst;
+        this.initialLimit = initialLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    // by-id, list, write, bulk
+    public String propertyName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.employeemanagement.admission;
+
+import com.example.employeemanagement.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+// The token bucket and the concurrency limit of one EndpointCost. The bucket caps the request rate
+// (429, the client should slow down), the limit caps the requests in progress (503, the server is
+// at capacity right now). Rejections are counted as employee.admission.rejected{cost, reason}.
+public class EndpointLimiter {
+    // a concurrency slot frees up as soon as any request finishes, retrying soon is fine
+    private static final Duration CONCURRENCY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final EndpointCost cost;
+    private final TokenBucket tokenBucket;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Counter rateLimited;
+    private final Counter concurrencyLimited;
+
+    public EndpointLimiter(EndpointCost cost, TokenBucket tokenBucket, AdaptiveConcurrencyLimit concurrencyLimit,
+                           MeterRegistry meterRegistry) {
+        this.cost = cost;
+        this.tokenBucket = tokenBucket;
+        this.concurrencyLimit = concurrencyLimit;
+        String name = cost.propertyName();
+        this.rateLimited = Counter.builder("employee.admission.rejected")
+                .tag("cost", name).tag("reason", "rate").register(meterRegistry);
+        this.concurrencyLimited = Counter.builder("employee.admission.rejected")
+                .tag("cost", name).tag("reason", "concurrency").register(meterRegistry);
+        Gauge.builder("employee.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+                .tag("cost", name).register(meterRegistry);
+        Gauge.builder("employee.admission.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::inFlight)
+                .tag("cost", name).register(meterRegistry);
+    }
+
+    // Takes a token and a concurrency slot or throws, the slot must be given back with release
+    public void admit() {
+        long wait = tokenBucket.tryAcquire();
+        if (wait > 0) {
+            rateLimited.increment();
+            throw new ServiceOverloadedException("Too many " + cost.propertyName() + " requests, please slow down",
+                    HttpStatus.TOO_MANY_REQUESTS, Duration.ofNanos(wait));
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            concurrencyLimited.increment();
+            throw new ServiceOverloadedException("Server is busy, please retry later",
+                    HttpStatus.SERVICE_UNAVAILABLE, CONCURRENCY_RETRY_AFTER);
+        }
+    }
+
+    public void release(long latencyNanos) {
+        concurrencyLimit.release(latencyNanos);
+    }
+}
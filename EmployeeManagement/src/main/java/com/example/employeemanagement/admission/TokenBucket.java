@@ -0,0 +1,44 @@
+package com.example.employeemanagement.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket of rate tokens per second holding at most burst tokens, starts full.
+// Kept in its GCRA form: instead of a token count and a refill time there is one "theoretical
+// arrival time" that every admitted request pushes one interval further. Lock free.
+public class TokenBucket {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong arrival;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    public TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000 / ratePerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+        this.arrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    // 0 when a token was taken, otherwise the nanos until the next one is available
+    public long tryAcquire() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long last = arrival.get();
+            long start = last - now > 0 ? last : now;
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(last, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,9 +1,191 @@
 package com.example.employeemanagement.async;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Named executors for @Async work:
+//  - boundedExecutor: platform thread pool with a bounded queue and a configurable rejection policy
+//  - virtualThreadExecutor: one virtual thread per task, only on Java 21+ with spring.threads.virtual.enabled=true
+//    (Tomcat runs on virtual threads too) or employee.async.virtual.enabled=true (Tomcat keeps its platform pool)
+// @Async without a name uses the virtual one when it exists, otherwise the bounded one.
+// employeeAsyncExecutor runs the EmployeeAsyncService calls only, see employeeAsyncExecutor.
 @Configuration
 @EnableAsync
-public class AsyncConfig {
-}
\ No newline at end of file
+public class AsyncConfig implements AsyncConfigurer {
+    public static final String BOUNDED_EXECUTOR = "boundedExecutor";
+    public static final String VIRTUAL_EXECUTOR = "virtualThreadExecutor";
+    public static final String SERVICE_EXECUTOR = "employeeAsyncExecutor";
+
+    private final ObjectProvider<ThreadPoolTaskExecutor> boundedExecutor;
+    private final ObjectProvider<SimpleAsyncTaskExecutor> virtualThreadExecutor;
+
+    public AsyncConfig(@Qualifier(BOUNDED_EXECUTOR) ObjectProvider<ThreadPoolTaskExecutor> boundedExecutor,
+                       @Qualifier(VIRTUAL_EXECUTOR) ObjectProvider<SimpleAsyncTaskExecutor> virtualThreadExecutor) {
+        this.boundedExecutor = boundedExecutor;
+        this.virtualThreadExecutor = virtualThreadExecutor;
+    }
+
+    @Bean(name = BOUNDED_EXECUTOR)
+    public ThreadPoolTaskExecutor boundedExecutor(MeterRegistry meterRegistry,
+                                                  @Value("${employee.async.bounded.core-size:4}") int coreSize,
+                                                  @Value("${employee.async.bounded.max-size:16}") int maxSize,
+                                                  @Value("${employee.async.bounded.queue-capacity:500}") int queueCapacity,
+                                                  @Value("${employee.async.bounded.rejection-policy:caller-runs}") String rejectionPolicy) {
+        AtomicLong rejected = new AtomicLong();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("bounded-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(countingHandler(rejectionHandler(rejectionPolicy), rejected));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        Gauge.builder("async.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("name", BOUNDED_EXECUTOR).register(meterRegistry);
+        Gauge.builder("async.executor.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("name", BOUNDED_EXECUTOR).register(meterRegistry);
+        FunctionCounter.builder("async.executor.rejected", rejected, AtomicLong::get)
+                .tag("name", BOUNDED_EXECUTOR).register(meterRegistry);
+        return executor;
+    }
+
+    // Virtual threads never queue, the concurrency limit makes submitters wait instead (backpressure)
+    @Bean(name = VIRTUAL_EXECUTOR)
+    @Conditional(VirtualThreadsCondition.class)
+    public SimpleAsyncTaskExecutor virtualThreadExecutor(MeterRegistry meterRegistry,
+                                                         @Value("${employee.async.virtual.concurrency-limit:1000}") int concurrencyLimit) {
+        AtomicInteger active = new AtomicInteger();
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("virtual-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskDecorator(countingDecorator(active));
+        executor.setTaskTerminationTimeout(30_000);
+
+        // nothing is ever queued or rejected, both stay at zero so dashboards can treat executors alike
+        Gauge.builder("async.executor.active", active, AtomicInteger::get)
+                .tag("name", VIRTUAL_EXECUTOR).register(meterRegistry);
+        Gauge.builder("async.executor.queued", () -> 0)
+                .tag("name", VIRTUAL_EXECUTOR).register(meterRegistry);
+        FunctionCounter.builder("async.executor.rejected", new AtomicLong(), AtomicLong::get)
+                .tag("name", VIRTUAL_EXECUTOR).register(meterRegistry);
+        return executor;
+    }
+
+    // The calls block on JDBC, the validation checks and shard scatters, which all run on threads of
+    // their own, so a call never waits for the pool it runs on. Virtual threads when the async
+    // executors use them, otherwise a fixed pool; a full queue is a 503, running the call on the
+    // Tomcat thread instead would give up what the async endpoints are for.
+    @Bean(name = SERVICE_EXECUTOR)
+    public AsyncTaskExecutor employeeAsyncExecutor(MeterRegistry meterRegistry,
+                                                   @Value("${employee.async.service.threads:32}") int threads,
+                                                   @Value("${employee.async.service.queue-capacity:1000}") int queueCapacity) {
+        SimpleAsyncTaskExecutor virtual = virtualThreadExecutor.getIfAvailable();
+        if (virtual != null) {
+            return virtual;
+        }
+        AtomicLong rejected = new AtomicLong();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("employee-async-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(countingHandler(new ThreadPoolExecutor.AbortPolicy(), rejected));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        Gauge.builder("async.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("name", SERVICE_EXECUTOR).register(meterRegistry);
+        Gauge.builder("async.executor.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("name", SERVICE_EXECUTOR).register(meterRegistry);
+        FunctionCounter.builder("async.executor.rejected", rejected, AtomicLong::get)
+                .tag("name", SERVICE_EXECUTOR).register(meterRegistry);
+        return executor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return defaultExecutor();
+    }
+
+    // Also used for Spring MVC async requests (streaming responses), see WebAsyncConfig
+    public AsyncTaskExecutor defaultExecutor() {
+        SimpleAsyncTaskExecutor virtual = virtualThreadExecutor.getIfAvailable();
+        return virtual != null ? virtual : boundedExecutor.getObject();
+    }
+
+    static class VirtualThreadsCondition extends AnyNestedCondition {
+        VirtualThreadsCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnThreading(Threading.VIRTUAL)
+        static class Everywhere {
+        }
+
+        @ConditionalOnJava(JavaVersion.TWENTY_ONE)
+        @ConditionalOnProperty(prefix = "employee.async.virtual", name = "enabled")
+        static class ExecutorsOnly {
+        }
+    }
+
+    private static RejectedExecutionHandler rejectionHandler(String policy) {
+        return switch (policy.toLowerCase(Locale.ROOT)) {
+            case "caller-runs" -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case "abort" -> new ThreadPoolExecutor.AbortPolicy();
+            case "discard" -> new ThreadPoolExecutor.DiscardPolicy();
+            case "discard-oldest" -> new ThreadPoolExecutor.DiscardOldestPolicy();
+            default -> throw new IllegalArgumentException("Unknown rejection policy: " + policy
+                    + " (expected caller-runs, abort, discard or discard-oldest)");
+        };
+    }
+
+    private static RejectedExecutionHandler countingHandler(RejectedExecutionHandler delegate, AtomicLong rejected) {
+        return (task, executor) -> {
+            rejected.incrementAndGet();
+            delegate.rejectedExecution(task, executor);
+        };
+    }
+
+    private static TaskDecorator countingDecorator(AtomicInteger active) {
+        return task -> () -> {
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.employeemanagement.async;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+// Runs async MVC handlers (e.g. StreamingResponseBody) on our executors instead of
+// an unbounded SimpleAsyncTaskExecutor
+@Configuration
+@RequiredArgsConstructor
+public class WebAsyncConfig implements WebMvcConfigurer {
+    private final AsyncConfig asyncConfig;
+
+    @Value("${employee.async.mvc-timeout:5m}")
+    private Duration mvcTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(asyncConfig.defaultExecutor());
+        configurer.setDefaultTimeout(mvcTimeout.toMillis());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.employeemanagement.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Cache sizes and TTL live in application.properties (spring.cache.caffeine.spec)
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String EMPLOYEES = "employees";
+}
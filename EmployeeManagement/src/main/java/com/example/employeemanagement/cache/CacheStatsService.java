@@ -0,0 +1,34 @@
+package com.example.employeemanagement.cache;
+
+import com.example.employeemanagement.DTO.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+    private final CacheManager cacheManager;
+
+    // Returns null when the cache is disabled or not backed by Caffeine
+    public CacheStatsDTO getStats(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            return null;
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return new CacheStatsDTO(
+                cacheName,
+                nativeCache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
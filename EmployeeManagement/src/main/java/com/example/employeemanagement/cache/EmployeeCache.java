@@ -0,0 +1,83 @@
+package com.example.employeemanagement.cache;
+
+import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.datasource.ReadYourWrites;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// Read-through for the by-id cache that closes the cache-aside race: a read that loaded the old row
+// before a write committed must not put it back after the write's eviction. Every eviction bumps a
+// stamp for the id, a load notes the stamp before reading and undoes its put when the stamp moved.
+// Stamps are striped by id, a bump on another id in the same stripe only costs a cache miss.
+// With read replicas only rows read from the primary are cached: a replica may not have applied a
+// write yet, and its eviction has already run, so a row loaded from there could stay stale until
+// the TTL. Clients pinned by ReadYourWrites read from the primary and fill the cache.
+@Component
+public class EmployeeCache {
+    private static final int STRIPES = 1024;
+
+    private final CacheManager cacheManager;
+    private final boolean replicaReads;
+    private final AtomicLongArray evictions = new AtomicLongArray(STRIPES);
+
+    public EmployeeCache(CacheManager cacheManager,
+                         @Value("${employee.datasource.replica-urls:}") List<String> replicaUrls) {
+        this.cacheManager = cacheManager;
+        this.replicaReads = !replicaUrls.isEmpty();
+    }
+
+    // Null results are returned as they are and never cached
+    public EmployeeDTO get(UUID id, Supplier<EmployeeDTO> loader) {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        if (cache == null) {
+            return loader.get();
+        }
+        EmployeeDTO cached = cache.get(id, EmployeeDTO.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(id);
+        long stamp = evictions.get(stripe);
+        EmployeeDTO loaded = loader.get();
+        if (loaded != null && readFromPrimary()) {
+            cache.put(id, loaded);
+            // an eviction that ran while we loaded may have come before our put, so evict again.
+            // One that runs after this check comes after the put and removes it itself.
+            if (evictions.get(stripe) != stamp) {
+                cache.evict(id);
+            }
+        }
+        return loaded;
+    }
+
+    public EmployeeDTO peek(UUID id) {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        return cache == null ? null : cache.get(id, EmployeeDTO.class);
+    }
+
+    // The stamp moves before the entry goes, see get
+    public void evict(UUID id) {
+        evictions.incrementAndGet(stripe(id));
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+
+    // Same rule as ReadWriteRoutingDataSource uses to pick the primary for a read
+    private boolean readFromPrimary() {
+        return !replicaReads || ReadYourWrites.isPinned();
+    }
+
+    private static int stripe(UUID id) {
+        return id.hashCode() & (STRIPES - 1);
+    }
+}
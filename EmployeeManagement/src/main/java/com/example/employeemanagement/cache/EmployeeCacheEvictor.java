@@ -0,0 +1,22 @@
+package com.example.employeemanagement.cache;
+
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Evicts the by-id entry after an update or delete has committed. A read that loaded the old row
+// before the commit can still try to put it back afterwards, EmployeeCache.get undoes that put.
+@Component
+@RequiredArgsConstructor
+public class EmployeeCacheEvictor {
+    private final EmployeeCache employeeCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (event.getType() == EmployeeChangedEvent.Type.CREATED) {
+            return;
+        }
+        employeeCache.evict(event.getId());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.employeemanagement.cache;
+
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Version of the employee list as a whole, used as the ETag of /get-all-employee. It is a row in
+// each database (V3 migration), so every instance hands out the same tag for the same data: a
+// transaction that writes employees bumps it once, right before it commits, and a list read takes
+// the version in the same transaction as the rows (EmployeeService.getAllEmployeesWithVersion).
+@Component
+@RequiredArgsConstructor
+public class EmployeeCollectionVersion {
+    private final EmployeeRepository employeeRepository;
+
+    // Runs inside the writing transaction, not after it
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        changed();
+    }
+
+    // Bumps the version when the current transaction commits, once however many rows it writes.
+    // The row lock is taken at commit only, so concurrent writers wait on each other just for that.
+    public void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            employeeRepository.incrementCollectionVersion();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                employeeRepository.incrementCollectionVersion();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeCollectionVersion.this);
+            }
+        });
+    }
+
+    // Must run in a transaction on the shard it versions, before the rows are read: under read
+    // committed a write that commits in between then makes the tag older than the rows, not newer
+    public String read() {
+        return employeeRepository.findCollectionVersion();
+    }
+}
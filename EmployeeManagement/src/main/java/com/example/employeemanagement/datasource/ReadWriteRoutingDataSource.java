@@ -0,0 +1,116 @@
+package com.example.employeemanagement.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Read-only transactions go to the replicas in turn, everything else (writes, work outside a
+// transaction, threads pinned by ReadYourWrites) goes to the primary. When a replica can't hand out
+// a connection the read falls back to the primary, and a read-only transaction that fails on a replica
+// (e.g. its schema is behind) runs once more on the primary, see withPrimaryFallback.
+// Must sit behind a LazyConnectionDataSourceProxy: the transaction is only marked read-only after
+// it began, the proxy delays the choice until then.
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+    // set when the current thread got a replica connection, see withPrimaryFallback
+    private static final ThreadLocal<Boolean> REPLICA_USED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource replica = replica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.getConnection();
+            REPLICA_USED.set(Boolean.TRUE);
+            return connection;
+        } catch (SQLException e) {
+            logger.warn("Replica unavailable, reading from the primary: {}", e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource replica = replica();
+        if (replica == null) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            Connection connection = replica.getConnection(username, password);
+            REPLICA_USED.set(Boolean.TRUE);
+            return connection;
+        } catch (SQLException e) {
+            logger.warn("Replica unavailable, reading from the primary: {}", e.getMessage());
+            return primary.getConnection(username, password);
+        }
+    }
+
+    // Runs a whole read-only transaction and, when it failed with a database error after getting a
+    // replica connection, once more pinned to the primary. Reads are safe to repeat. Inside another
+    // transaction the read just runs, its connection is already chosen.
+    public static <T> T withPrimaryFallback(Supplier<T> read) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return read.get();
+        }
+        REPLICA_USED.remove();
+        try {
+            return read.get();
+        } catch (DataAccessException e) {
+            if (REPLICA_USED.get() == null) {
+                throw e;
+            }
+            logger.warn("Read failed on a replica, retrying on the primary: {}", e.getMessage());
+            boolean pinned = ReadYourWrites.isPinned();
+            ReadYourWrites.pin();
+            try {
+                return read.get();
+            } finally {
+                if (!pinned) {
+                    ReadYourWrites.unpin();
+                }
+            }
+        } finally {
+            REPLICA_USED.remove();
+        }
+    }
+
+    // The replicas belong to this data source, the primary is closed by its owner
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    // The replica for the current read-only transaction, null when it has to be the primary
+    private DataSource replica() {
+        if (replicas.isEmpty() || ReadYourWrites.isPinned()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+}
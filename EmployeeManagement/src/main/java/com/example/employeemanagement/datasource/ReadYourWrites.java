@@ -0,0 +1,22 @@
+package com.example.employeemanagement.datasource;
+
+// Pins the current thread to the primary, so read-only transactions see writes that a replica
+// may not have applied yet. Set per request by ReadYourWritesFilter.
+public final class ReadYourWrites {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+}
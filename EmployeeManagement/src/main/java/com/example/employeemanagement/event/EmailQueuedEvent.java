@@ -0,0 +1,11 @@
+package com.example.employeemanagement.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published when emails are written to the outbox, lets the dispatcher send them right after commit
+@Getter
+@AllArgsConstructor
+public class EmailQueuedEvent {
+    private final int count;
+}
@@ -0,0 +1,265 @@
+package com.example.employeemanagement.event;
+
+import com.example.employeemanagement.DTO.EmployeeChangeDTO;
+import com.example.employeemanagement.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Ordered feed of committed employee changes. Every change gets the next sequence number and is
+// kept in a ring buffer of the last replay-buffer-size changes, so a client reconnecting with
+// Last-Event-ID gets exactly what it missed. Older ids get a "reset" event (reload, then follow).
+// The write path only appends under a short lock and offers to bounded per-subscriber queues.
+// Sending happens on the feed's own threads, one per subscriber with something to send, so a
+// client that stops reading only stalls its own sends (until the server's write timeout drops it).
+// A subscriber whose queue fills up is disconnected and catches up from the buffer when it reconnects.
+// Event ids are epoch-sequence. Sequence numbers restart with the application and every instance
+// counts its own, the random epoch makes ids of another run or instance get a reset too.
+@Component
+public class EmployeeChangeFeed {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+    // Where the changes of one subscriber go, SSE in production
+    public interface Sink {
+        void send(EmployeeChangeDTO change) throws IOException;
+
+        // the requested position is no longer in the buffer, eventId is the current position
+        void reset(String eventId) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        void complete();
+    }
+
+    private final EmployeeChangeDTO[] buffer;
+    private final int subscriberQueueSize;
+    private final int maxSubscribers;
+    private final ExecutorService senders;
+    private final Counter overflows;
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong() >>> 1);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private long sequence;
+
+    public EmployeeChangeFeed(MeterRegistry meterRegistry,
+                              @Value("${employee.feed.replay-buffer-size:10000}") int replayBufferSize,
+                              @Value("${employee.feed.subscriber-queue-size:1000}") int subscriberQueueSize,
+                              @Value("${employee.feed.max-subscribers:100}") int maxSubscribers) {
+        this.buffer = new EmployeeChangeDTO[replayBufferSize];
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.maxSubscribers = maxSubscribers;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // at most one drain per subscriber runs at a time, so this never grows past max-subscribers threads
+        this.senders = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "change-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("employee.feed.subscribers", this, EmployeeChangeFeed::subscriberCount).register(meterRegistry);
+        this.overflows = Counter.builder("employee.feed.overflows")
+                .description("Subscribers disconnected because they fell too far behind")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.lock();
+        try {
+            long next = ++sequence;
+            EmployeeChangeDTO change = new EmployeeChangeDTO(next, eventId(next), event.getType().name(), event.getId(),
+                    event.getFirstName(), event.getLastName(), event.getEmail(), event.getDepartment(),
+                    event.getSalary(), Instant.now());
+            buffer[(int) (next % buffer.length)] = change;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Starts with every buffered change after lastEventId (none when null), then follows live changes.
+    // The returned Runnable unsubscribes, e.g. when the connection times out.
+    public Runnable subscribe(String lastEventId, Sink sink) {
+        Subscriber subscriber = new Subscriber(sink);
+        lock.lock();
+        try {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new ServiceOverloadedException("Too many change feed subscribers, please retry later");
+            }
+            if (lastEventId != null) {
+                Long lastSequence = sequenceOf(lastEventId);
+                long oldest = Math.max(1, sequence - buffer.length + 1);
+                if (lastSequence == null || lastSequence < oldest - 1 || lastSequence > sequence) {
+                    subscriber.resetAt = eventId(sequence);
+                } else {
+                    for (long s = lastSequence + 1; s <= sequence; s++) {
+                        subscriber.replay.add(buffer[(int) (s % buffer.length)]);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        subscriber.schedule();
+        return subscriber::close;
+    }
+
+    public String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    // The sequence of an event id of this run, null for anything else
+    private Long sequenceOf(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !eventId.substring(0, dash).equals(epoch)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Keeps idle connections open through proxies and finds dead ones
+    @Scheduled(fixedDelayString = "${employee.feed.heartbeat-interval:15s}")
+    public void heartbeat() {
+        lock.lock();
+        try {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.heartbeatDue = true;
+                subscriber.schedule();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int subscriberCount() {
+        lock.lock();
+        try {
+            return subscribers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lock.lock();
+        try {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.sink.complete();
+            }
+            subscribers.clear();
+        } finally {
+            lock.unlock();
+        }
+        senders.shutdownNow();
+    }
+
+    private void remove(Subscriber subscriber) {
+        lock.lock();
+        try {
+            subscribers.remove(subscriber);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class Subscriber {
+        private final Sink sink;
+        private final Queue<EmployeeChangeDTO> replay = new ArrayDeque<>();
+        private final ArrayBlockingQueue<EmployeeChangeDTO> live = new ArrayBlockingQueue<>(subscriberQueueSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+        // only touched before the first drain and by the drain itself
+        private String resetAt;
+
+        Subscriber(Sink sink) {
+            this.sink = sink;
+        }
+
+        // caller holds the feed lock, never blocks
+        void offer(EmployeeChangeDTO change) {
+            if (!overflowed && !live.offer(change)) {
+                overflowed = true;
+                overflows.increment();
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (resetAt != null) {
+                    sink.reset(resetAt);
+                    resetAt = null;
+                }
+                EmployeeChangeDTO change;
+                while ((change = replay.poll()) != null) {
+                    sink.send(change);
+                }
+                while ((change = live.poll()) != null) {
+                    sink.send(change);
+                }
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    sink.heartbeat();
+                }
+                if (overflowed) {
+                    logger.debug("Change feed subscriber fell behind, disconnecting it");
+                    close();
+                }
+            } catch (IOException | RuntimeException e) {
+                // the client went away
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            if (!closed && (!live.isEmpty() || heartbeatDue)) {
+                schedule();
+            }
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                remove(this);
+                sink.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.employeemanagement.event;
+
+import com.example.employeemanagement.Model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// Published by EmployeeService for every create, update and delete.
+// Listeners use @TransactionalEventListener so they only see committed changes.
+// For DELETED only the id is set. version is the row version the change wrote, listeners that can
+// see changes of one employee out of order use it to drop the older one.
+@Getter
+@AllArgsConstructor
+public class EmployeeChangedEvent {
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final UUID id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String department;
+    private final BigDecimal salary;
+    private final Long version;
+
+    public static EmployeeChangedEvent created(Employee employee) {
+        return of(Type.CREATED, employee);
+    }
+
+    public static EmployeeChangedEvent updated(Employee employee) {
+        return of(Type.UPDATED, employee);
+    }
+
+    public static EmployeeChangedEvent deleted(UUID id) {
+        return new EmployeeChangedEvent(Type.DELETED, id, null, null, null, null, null, null);
+    }
+
+    private static EmployeeChangedEvent of(Type type, Employee employee) {
+        return new EmployeeChangedEvent(type, employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getDepartment(), employee.getSalary(), employee.getVersion());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.employeemanagement.exception;
+
+public class EmployeeConflictException extends RuntimeException{
+    public EmployeeConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.employeemanagement.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+// 503 by default, 429 when the client went over a rate limit.
+// retryAfter becomes the Retry-After header, null sends none.
+public class ServiceOverloadedException extends RuntimeException{
+    private final HttpStatus status;
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message) {
+        this(message, HttpStatus.SERVICE_UNAVAILABLE, null);
+    }
+
+    public ServiceOverloadedException(String message, HttpStatus status, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.employeemanagement.exception;
+
+public class ValidationUnavailableException extends RuntimeException{
+    public ValidationUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.employeemanagement.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Generated UUID primary key, random or time ordered depending on employee.id.generator
+@IdGeneratorType(EmployeeIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface EmployeeId {
+}
@@ -0,0 +1,63 @@
+package com.example.employeemanagement.id;
+
+import com.example.employeemanagement.sharding.ShardContext;
+import com.example.employeemanagement.sharding.ShardRouter;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.generator.GeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.UUID;
+
+// Hibernate id generator behind @EmployeeId. The strategy comes from the employee.id.generator
+// setting (see IdGeneratorConfig):
+//  - random: UUIDv4, what GenerationType.AUTO generated so far
+//  - time-ordered: UUIDv7, see TimeOrderedUuidGenerator
+// Both kinds fit the same UUID column and never collide, so switching needs no data migration:
+// existing rows keep their ids and only new rows get the other kind.
+// With sharding, time-ordered ids also record the shard they are inserted on (ShardRouter.embedShard).
+public class EmployeeIdGenerator implements BeforeExecutionGenerator, AnnotationBasedGenerator<EmployeeId> {
+    public static final String SETTING = "employee.id.generator";
+
+    // one per JVM, ids stay increasing across every entity that uses it
+    private static final TimeOrderedUuidGenerator TIME_ORDERED = new TimeOrderedUuidGenerator();
+
+    private boolean timeOrdered;
+
+    // Spring's bean container creates the generator as a bean, so the setting is read in initialize
+    @Override
+    public void initialize(EmployeeId config, Member member, GeneratorCreationContext context) {
+        Object setting = context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(SETTING);
+        this.timeOrdered = isTimeOrdered(setting == null ? "random" : setting.toString());
+    }
+
+    static boolean isTimeOrdered(String strategy) {
+        return switch (strategy.trim().toLowerCase(Locale.ROOT)) {
+            case "random" -> false;
+            case "time-ordered" -> true;
+            default -> throw new IllegalArgumentException("Unknown " + SETTING + ": " + strategy
+                    + " (expected random or time-ordered)");
+        };
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        if (!timeOrdered) {
+            return UUID.randomUUID();
+        }
+        Integer shard = ShardContext.get();
+        return shard == null ? TIME_ORDERED.next() : ShardRouter.embedShard(TIME_ORDERED.next(), shard);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.employeemanagement.id;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Hibernate creates id generators itself, so employee.id.generator is handed over as a Hibernate setting
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer employeeIdGeneratorCustomizer(@Value("${employee.id.generator:random}") String generator) {
+        // fail at startup rather than on the first insert
+        EmployeeIdGenerator.isTimeOrdered(generator);
+        return properties -> properties.put(EmployeeIdGenerator.SETTING, generator);
+    }
+}
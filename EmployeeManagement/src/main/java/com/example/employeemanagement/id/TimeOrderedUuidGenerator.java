@@ -0,0 +1,58 @@
+package com.example.employeemanagement.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// UUIDv7 (RFC 9562): 48 bit unix millis, version, 12 bit counter, variant, 62 random bits.
+// New ids sort after older ones, so inserts append to the right edge of the primary key B-tree
+// instead of landing on a random page. Ids are strictly increasing within the JVM, also when
+// several are created in the same millisecond or the clock steps back. Thread safe and lock free.
+// The random bits come from ThreadLocalRandom, ids are unique but not meant to be unguessable.
+public class TimeOrderedUuidGenerator {
+    private static final int COUNTER_BITS = 12;
+
+    private final LongSupplier clock;
+    // last (millis << 12 | counter) handed out
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public TimeOrderedUuidGenerator() {
+        this(System::currentTimeMillis);
+    }
+
+    public TimeOrderedUuidGenerator(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public UUID next() {
+        long tick = nextTick();
+        long millis = tick >>> COUNTER_BITS;
+        long counter = tick & 0xFFF;
+
+        long msb = (millis << 16) | (0x7L << 12) | counter;
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    // Creation time of a version 7 id
+    public static long timestamp(UUID id) {
+        if (id.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + id);
+        }
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    // A new millisecond starts the counter at a random value in its lower half, which keeps the
+    // counter hard to guess and leaves room for at least 2048 ids before it spills into the next ms
+    private long nextTick() {
+        while (true) {
+            long last = lastTick.get();
+            long now = clock.getAsLong() << COUNTER_BITS;
+            long next = now > last ? now | ThreadLocalRandom.current().nextInt(1 << (COUNTER_BITS - 1)) : last + 1;
+            if (lastTick.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.employeemanagement.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+// Idempotency-Key support for create and update. employee.idempotency.enabled=false turns it off.
+@Configuration
+@ConditionalOnProperty(prefix = "employee.idempotency", name = "enabled", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(MeterRegistry meterRegistry,
+                                             @Value("${employee.idempotency.ttl:24h}") Duration ttl,
+                                             @Value("${employee.idempotency.max-entries:10000}") long maxEntries) {
+        IdempotencyStore store = new IdempotencyStore(ttl, maxEntries);
+        meterRegistry.gauge("employee.idempotency.entries", store, IdempotencyStore::size);
+        return store;
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${employee.idempotency.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${employee.idempotency.max-body-size:64KB}") DataSize maxBodySize) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(new IdempotencyFilter(
+                idempotencyStore, objectMapper, meterRegistry, waitTimeout, (int) maxBodySize.toBytes()));
+        registration.addUrlPatterns("/api/v1/employee/create", "/api/v1/employee/update/*",
+                "/api/v1/employee/async/create", "/api/v1/employee/async/update/*");
+        return registration;
+    }
+}
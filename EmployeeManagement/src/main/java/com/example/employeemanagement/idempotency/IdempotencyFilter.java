@@ -0,0 +1,287 @@
+package com.example.employeemanagement.idempotency;
+
+import com.example.employeemanagement.ApiResponse.ApiResponse;
+import com.example.employeemanagement.idempotency.IdempotencyStore.Entry;
+import com.example.employeemanagement.idempotency.IdempotencyStore.StoredResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Makes POST and PUT requests with an Idempotency-Key header safe to retry. The first request with a
+// key runs and its response is kept in the IdempotencyStore; a retry with the same key and body gets
+// that response back (marked Idempotent-Replayed) without reaching the controller, a concurrent
+// duplicate waits for the first one to finish. Reusing a key with a different body is a 422.
+// 5xx and 429 responses are not kept, retrying those runs the request again.
+// Keys are per client (see clientOf), two clients picking the same key never see each other's responses.
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String PENDING = IdempotencyFilter.class.getName() + ".PENDING";
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration waitTimeout;
+    private final int maxBodySize;
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             Duration waitTimeout, int maxBodySize) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.waitTimeout = waitTimeout;
+        this.maxBodySize = maxBodySize;
+    }
+
+    // Async handlers write their response on a later dispatch, that is where it gets stored
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            chain.doFilter(request, response);
+            Pending pending = (Pending) request.getAttribute(PENDING);
+            if (pending != null && !isAsyncStarted(request)) {
+                request.removeAttribute(PENDING);
+                pending.finish(true);
+            }
+            return;
+        }
+
+        String key = request.getHeader(HEADER);
+        String method = request.getMethod();
+        if (key == null || !("POST".equals(method) || "PUT".equals(method))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // the body is read here for the fingerprint and handed to the controller from memory
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Request body is too large for an " + HEADER);
+            return;
+        }
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+
+        String storeKey = clientOf(request) + " " + method + " " + request.getRequestURI() + " " + key;
+        Entry entry = new Entry(fingerprint(body));
+        for (Entry earlier = store.putIfAbsent(storeKey, entry); earlier != null;
+             earlier = store.putIfAbsent(storeKey, entry)) {
+            if (replay(earlier, entry.getFingerprint(), response)) {
+                return;
+            }
+            // the earlier request broke off without a response: whichever duplicate registers next
+            // runs it for real, the others wait for that one
+            store.remove(storeKey, earlier);
+        }
+
+        Pending pending = new Pending(storeKey, entry, new ContentCachingResponseWrapper(response));
+        boolean completed = false;
+        try {
+            chain.doFilter(cachedRequest, pending.response);
+            completed = true;
+        } finally {
+            if (completed && isAsyncStarted(cachedRequest)) {
+                cachedRequest.setAttribute(PENDING, pending);
+            } else {
+                pending.finish(completed);
+            }
+        }
+    }
+
+    // False when the earlier request ended without a response to replay, otherwise the response is written
+    private boolean replay(Entry earlier, String fingerprint, HttpServletResponse response) throws IOException {
+        if (!earlier.getFingerprint().equals(fingerprint)) {
+            count("mismatch");
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used with a different request body");
+            return true;
+        }
+
+        StoredResponse stored;
+        try {
+            stored = earlier.getResponse().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            count("in-progress");
+            reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still in progress");
+            return true;
+        } catch (ExecutionException e) {
+            stored = null;
+        }
+        if (stored == null) {
+            return false;
+        }
+
+        count("replayed");
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, stored.etag());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+        return true;
+    }
+
+    // The authenticated user, else the credentials sent (only their hash is kept), else the address
+    private static String clientOf(HttpServletRequest request) {
+        if (request.getUserPrincipal() != null) {
+            return "user:" + request.getUserPrincipal().getName();
+        }
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null) {
+            return "auth:" + fingerprint(authorization.getBytes(StandardCharsets.UTF_8));
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse(message));
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("employee.idempotency.duplicates", "outcome", outcome).increment();
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The first request with a key, between running the handler and storing what it wrote
+    private final class Pending {
+        private final String storeKey;
+        private final Entry entry;
+        private final ContentCachingResponseWrapper response;
+
+        private Pending(String storeKey, Entry entry, ContentCachingResponseWrapper response) {
+            this.storeKey = storeKey;
+            this.entry = entry;
+            this.response = response;
+        }
+
+        private void finish(boolean completed) throws IOException {
+            StoredResponse stored = null;
+            if (completed) {
+                stored = new StoredResponse(response.getStatus(), response.getContentType(),
+                        response.getHeader(HttpHeaders.ETAG), response.getContentAsByteArray());
+            }
+            if (stored == null || stored.status() >= 500 || stored.status() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                store.remove(storeKey, entry);
+            }
+            // waiting duplicates get the response even when it is not kept for later retries
+            entry.getResponse().complete(stored);
+            response.copyBodyToResponse();
+        }
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // the whole body is in memory, so it can all be read right away
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
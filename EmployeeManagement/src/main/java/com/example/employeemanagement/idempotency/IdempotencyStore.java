@@ -0,0 +1,57 @@
+package com.example.employeemanagement.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+// Responses of requests that carried an Idempotency-Key, bounded in size and dropped after the TTL.
+// An entry goes in before the request runs, so a duplicate arriving while the first one is still
+// in flight finds it and waits on its future instead of running the request a second time.
+public class IdempotencyStore {
+    private final Cache<String, Entry> entries;
+
+    public IdempotencyStore(Duration ttl, long maxEntries) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    // Registers the entry unless the key is taken, then returns the earlier request's entry
+    public Entry putIfAbsent(String key, Entry entry) {
+        return entries.asMap().putIfAbsent(key, entry);
+    }
+
+    // Forgets the entry so the next request with the key runs again, only if it is still ours
+    public void remove(String key, Entry entry) {
+        entries.asMap().remove(key, entry);
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    // The fingerprint of the request body and, once it finished, the response. The future completes
+    // with null when the request failed without a response to replay.
+    public static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+
+        public Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public CompletableFuture<StoredResponse> getResponse() {
+            return response;
+        }
+    }
+
+    public record StoredResponse(int status, String contentType, String etag, byte[] body) {
+    }
+}
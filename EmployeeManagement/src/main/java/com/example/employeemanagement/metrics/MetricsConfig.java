@@ -0,0 +1,28 @@
+package com.example.employeemanagement.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Meters exported at /actuator/prometheus, percentile histograms are switched on per meter name
+// in application.properties (management.metrics.distribution.percentiles-histogram.*):
+//  - http.server.requests: every controller endpoint, tagged by uri, method and status (Spring Boot)
+//  - spring.data.repository.invocations: every repository call, tagged by repository and method (Spring Boot)
+//  - employee.service / employee.email.queue: public service methods annotated with @Timed
+//  - employee.validation: every check of ValidationPipeline, tagged by validator and outcome
+//  - employee.email.send: one SMTP batch in EmailOutboxDispatcher, plus employee.email.sent / failed counters
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "employee.service";
+    // employee.validation and its tags, dashboards and alerts depend on these names
+    public static final String VALIDATION_TIMER = "employee.validation";
+    public static final String VALIDATOR_TAG = "validator";
+    public static final String OUTCOME_TAG = "outcome";
+
+    // Makes @Timed work on any Spring bean, tags are class and method
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.employeemanagement.search;
+
+import java.util.Arrays;
+
+// Growable list of primitive ints, used for posting lists so ordinals are not boxed
+final class IntList {
+    private int[] values;
+    private int size;
+
+    IntList(int initialCapacity) {
+        values = new int[Math.max(initialCapacity, 1)];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void trimToSize() {
+        if (size < values.length) {
+            values = Arrays.copyOf(values, Math.max(size, 1));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.employeemanagement.search;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Open addressing map from a primitive long to a value, keys are never boxed.
+// Linear probing, entries are only ever added (the index rebuilds instead of removing).
+final class LongObjectMap<V> {
+    private long[] keys;
+    // null marks a free slot
+    private Object[] values;
+    private int size;
+
+    LongObjectMap(int initialCapacity) {
+        keys = new long[Integer.highestOneBit(Math.max(initialCapacity, 8) - 1) << 1];
+        values = new Object[keys.length];
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V computeIfAbsent(long key, Supplier<V> factory) {
+        if ((size + 1) * 4 > keys.length * 3) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        V value = factory.get();
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEachValue(Consumer<V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[keys.length];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slot(oldKeys[i], mask);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
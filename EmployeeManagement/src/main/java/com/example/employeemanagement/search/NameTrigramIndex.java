@@ -0,0 +1,268 @@
+package com.example.employeemanagement.search;
+
+import com.example.employeemanagement.DTO.NameMatchDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory trigram index over "firstName lastName" for fuzzy typeahead.
+// Every name gets an int ordinal, and each trigram maps to a posting list of ordinals (IntList).
+// Ids and trigrams are looked up in primitive open addressing maps (UuidIntMap, LongObjectMap),
+// so the index holds primitive arrays instead of boxed keys and sets even for millions of names.
+// Updates append a new ordinal and mark the old one dead; dead ordinals are compacted away
+// once they outnumber the live ones. Thread safe: searches share a read lock, writes are exclusive.
+// Searches only allocate for their results, scoring uses pooled per-ordinal counters.
+public class NameTrigramIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_DEAD_FOR_COMPACTION = 10_000;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // per ordinal
+    private long[] idHigh = new long[INITIAL_CAPACITY];
+    private long[] idLow = new long[INITIAL_CAPACITY];
+    private String[] firstNames = new String[INITIAL_CAPACITY];
+    private String[] lastNames = new String[INITIAL_CAPACITY];
+    private short[] trigramCounts = new short[INITIAL_CAPACITY];
+    private final BitSet live = new BitSet();
+    private int size;
+    private int dead;
+
+    private UuidIntMap ordinals = new UuidIntMap(INITIAL_CAPACITY);
+    private LongObjectMap<IntList> postings = new LongObjectMap<>(INITIAL_CAPACITY);
+
+    // scoring scratch space, pooled so there is one per concurrent search rather than one per thread
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+    public void put(UUID id, String firstName, String lastName) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            addLocked(id, firstName, lastName);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best matches first. Names must share at least minScore of the query's trigrams.
+    public List<NameMatchDTO> search(String query, int limit, double minScore) {
+        long[] queryTrigrams = trigrams(" " + normalize(query));
+        if (queryTrigrams.length == 0 || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Scratch s = scratchPool.poll();
+            if (s == null) {
+                s = new Scratch();
+            }
+            s.ensureCapacity(size);
+            try {
+                // count shared trigrams per name, only touching names that share at least one
+                for (long trigram : queryTrigrams) {
+                    IntList posting = postings.get(trigram);
+                    if (posting == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < posting.size(); i++) {
+                        int ordinal = posting.get(i);
+                        if (s.counts[ordinal]++ == 0) {
+                            s.touched.add(ordinal);
+                        }
+                    }
+                }
+
+                PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, Candidate.ORDER);
+                for (int i = 0; i < s.touched.size(); i++) {
+                    int ordinal = s.touched.get(i);
+                    if (!live.get(ordinal)) {
+                        continue;
+                    }
+                    int common = s.counts[ordinal];
+                    double coverage = (double) common / queryTrigrams.length;
+                    if (coverage < minScore) {
+                        continue;
+                    }
+                    // ties are broken by similarity of the whole name, so shorter close names win
+                    double jaccard = (double) common / (queryTrigrams.length + trigramCounts[ordinal] - common);
+                    best.add(new Candidate(ordinal, coverage, jaccard));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+
+                List<NameMatchDTO> matches = new ArrayList<>(best.size());
+                while (!best.isEmpty()) {
+                    Candidate candidate = best.poll();
+                    int ordinal = candidate.ordinal();
+                    matches.add(new NameMatchDTO(new UUID(idHigh[ordinal], idLow[ordinal]),
+                            firstNames[ordinal], lastNames[ordinal], candidate.coverage()));
+                }
+                Collections.reverse(matches);
+                return matches;
+            } finally {
+                s.reset();
+                scratchPool.offer(s);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // caller holds the write lock
+    private void addLocked(UUID id, String firstName, String lastName) {
+        long[] docTrigrams = trigrams(" " + normalize(firstName) + " " + normalize(lastName) + " ");
+        int ordinal = size++;
+        ensureCapacity(size);
+
+        idHigh[ordinal] = id.getMostSignificantBits();
+        idLow[ordinal] = id.getLeastSignificantBits();
+        firstNames[ordinal] = firstName;
+        lastNames[ordinal] = lastName;
+        trigramCounts[ordinal] = (short) Math.min(docTrigrams.length, Short.MAX_VALUE);
+        live.set(ordinal);
+        ordinals.put(id.getMostSignificantBits(), id.getLeastSignificantBits(), ordinal);
+
+        for (long trigram : docTrigrams) {
+            postings.computeIfAbsent(trigram, () -> new IntList(4)).add(ordinal);
+        }
+    }
+
+    // caller holds the write lock
+    private void removeLocked(UUID id) {
+        int ordinal = ordinals.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (ordinal != UuidIntMap.MISSING) {
+            live.clear(ordinal);
+            firstNames[ordinal] = null;
+            lastNames[ordinal] = null;
+            dead++;
+        }
+    }
+
+    // Re-adds the live names into fresh arrays and posting lists
+    private void compactIfNeeded() {
+        if (dead < MIN_DEAD_FOR_COMPACTION || dead < ordinals.size()) {
+            return;
+        }
+
+        int oldSize = size;
+        long[] oldHigh = idHigh;
+        long[] oldLow = idLow;
+        String[] oldFirst = firstNames;
+        String[] oldLast = lastNames;
+        BitSet oldLive = (BitSet) live.clone();
+
+        resetLocked();
+        for (int ordinal = oldLive.nextSetBit(0); ordinal >= 0 && ordinal < oldSize; ordinal = oldLive.nextSetBit(ordinal + 1)) {
+            addLocked(new UUID(oldHigh[ordinal], oldLow[ordinal]), oldFirst[ordinal], oldLast[ordinal]);
+        }
+        postings.forEachValue(IntList::trimToSize);
+    }
+
+    private void resetLocked() {
+        idHigh = new long[INITIAL_CAPACITY];
+        idLow = new long[INITIAL_CAPACITY];
+        firstNames = new String[INITIAL_CAPACITY];
+        lastNames = new String[INITIAL_CAPACITY];
+        trigramCounts = new short[INITIAL_CAPACITY];
+        live.clear();
+        ordinals = new UuidIntMap(INITIAL_CAPACITY);
+        postings = new LongObjectMap<>(INITIAL_CAPACITY);
+        size = 0;
+        dead = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= idHigh.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, idHigh.length + (idHigh.length >> 1));
+        idHigh = Arrays.copyOf(idHigh, newCapacity);
+        idLow = Arrays.copyOf(idLow, newCapacity);
+        firstNames = Arrays.copyOf(firstNames, newCapacity);
+        lastNames = Arrays.copyOf(lastNames, newCapacity);
+        trigramCounts = Arrays.copyOf(trigramCounts, newCapacity);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Distinct trigrams of the text, each packed into a long: 16 bits per char, so every
+    // UTF-16 char keeps its own bits and trigrams of non-Latin names never collide
+    static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] packed = new long[text.length() - 2];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(packed);
+
+        int distinct = 0;
+        for (int i = 0; i < packed.length; i++) {
+            if (i == 0 || packed[i] != packed[i - 1]) {
+                packed[distinct++] = packed[i];
+            }
+        }
+        return Arrays.copyOf(packed, distinct);
+    }
+
+    private record Candidate(int ordinal, double coverage, double jaccard) {
+        // worst candidate first, so the queue can drop it when it grows past the limit
+        static final Comparator<Candidate> ORDER = Comparator.comparingDouble(Candidate::coverage)
+                .thenComparingDouble(Candidate::jaccard);
+    }
+
+    private static final class Scratch {
+        private int[] counts = new int[0];
+        private final IntList touched = new IntList(256);
+
+        void ensureCapacity(int capacity) {
+            if (counts.length < capacity) {
+                counts = new int[Math.max(capacity, counts.length + (counts.length >> 1))];
+            }
+        }
+
+        // only the touched slots are non-zero, clearing them is cheaper than clearing the array
+        void reset() {
+            for (int i = 0; i < touched.size(); i++) {
+                counts[touched.get(i)] = 0;
+            }
+            touched.clear();
+        }
+    }
+}
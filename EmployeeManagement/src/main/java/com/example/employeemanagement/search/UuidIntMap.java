@@ -0,0 +1,105 @@
+package com.example.employeemanagement.search;
+
+import java.util.Arrays;
+
+// Open addressing map from UUID to a non-negative int, the UUID kept as its two longs,
+// so neither keys nor values are boxed. Linear probing, removal shifts the probe chain back.
+final class UuidIntMap {
+    static final int MISSING = -1;
+
+    private long[] highs;
+    private long[] lows;
+    // MISSING marks a free slot
+    private int[] values;
+    private int size;
+
+    UuidIntMap(int initialCapacity) {
+        allocate(Integer.highestOneBit(Math.max(initialCapacity, 8) - 1) << 1);
+    }
+
+    int get(long high, long low) {
+        int mask = values.length - 1;
+        for (int slot = slot(high, low, mask); values[slot] != MISSING; slot = (slot + 1) & mask) {
+            if (highs[slot] == high && lows[slot] == low) {
+                return values[slot];
+            }
+        }
+        return MISSING;
+    }
+
+    void put(long high, long low, int value) {
+        if ((size + 1) * 4 > values.length * 3) {
+            resize();
+        }
+        int mask = values.length - 1;
+        int slot = slot(high, low, mask);
+        while (values[slot] != MISSING) {
+            if (highs[slot] == high && lows[slot] == low) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        highs[slot] = high;
+        lows[slot] = low;
+        values[slot] = value;
+        size++;
+    }
+
+    // Returns the removed value, or MISSING
+    int remove(long high, long low) {
+        int mask = values.length - 1;
+        int slot = slot(high, low, mask);
+        while (values[slot] != MISSING && (highs[slot] != high || lows[slot] != low)) {
+            slot = (slot + 1) & mask;
+        }
+        int removed = values[slot];
+        if (removed == MISSING) {
+            return MISSING;
+        }
+
+        // move later entries of the chain into the gap when the gap lies between their home slot and them
+        int gap = slot;
+        for (int i = (gap + 1) & mask; values[i] != MISSING; i = (i + 1) & mask) {
+            int home = slot(highs[i], lows[i], mask);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                highs[gap] = highs[i];
+                lows[gap] = lows[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = MISSING;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize() {
+        long[] oldHighs = highs;
+        long[] oldLows = lows;
+        int[] oldValues = values;
+        allocate(oldValues.length * 2);
+        size = 0;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != MISSING) {
+                put(oldHighs[i], oldLows[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        highs = new long[capacity];
+        lows = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+    }
+
+    private static int slot(long high, long low, int mask) {
+        long h = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
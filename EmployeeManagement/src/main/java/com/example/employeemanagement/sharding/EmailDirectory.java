@@ -0,0 +1,183 @@
+package com.example.employeemanagement.sharding;
+
+import com.example.employeemanagement.Model.EmployeeEmail;
+import com.example.employeemanagement.Repository.EmployeeEmailRepository;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.exception.InvalidInputException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Which emails are taken across the shards. Each shard's unique index only covers its own rows, so
+// with sharding every email is also claimed in employee_email on the shard its hash points to:
+// checking an email asks that one shard instead of all of them, and the primary key makes two
+// writers of the same email on different shards fail instead of both passing.
+// Claims are taken before the employee row is written and released once it is gone or failed to
+// be written. One left behind (a crash in between, two updates of one employee racing) blocks its
+// email until a later claim finds no employee with it on any shard; that claim takes it over, but
+// only after the grace period, so a claim whose employee is still being written is never taken.
+// Without sharding nothing is claimed, the unique index does it all.
+@Component
+public class EmailDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(EmailDirectory.class);
+
+    private final EmployeeEmailRepository emailRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ShardRouter shardRouter;
+    private final Duration grace;
+
+    public EmailDirectory(EmployeeEmailRepository emailRepository,
+                          EmployeeRepository employeeRepository,
+                          ShardRouter shardRouter,
+                          @Value("${employee.sharding.email-claim-grace:1m}") Duration grace) {
+        this.emailRepository = emailRepository;
+        this.employeeRepository = employeeRepository;
+        this.shardRouter = shardRouter;
+        this.grace = grace;
+    }
+
+    public boolean isActive() {
+        return shardRouter.shardCount() > 1;
+    }
+
+    // Case-insensitive, like the unique index on MySQL
+    public int ownerOf(String email) {
+        return Math.floorMod(email.toLowerCase(Locale.ROOT).hashCode(), shardRouter.shardCount());
+    }
+
+    public void claim(String email) {
+        if (!claimAll(List.of(email)).isEmpty()) {
+            throw new InvalidInputException("Email already exists");
+        }
+    }
+
+    // Claims the free emails, one transaction per owner shard, and returns the ones already taken
+    public Set<String> claimAll(Collection<String> emails) {
+        Set<String> taken = new HashSet<>();
+        if (!isActive() || emails.isEmpty()) {
+            return taken;
+        }
+        Map<Integer, List<String>> byOwner = new TreeMap<>();
+        for (String email : emails) {
+            byOwner.computeIfAbsent(ownerOf(email), owner -> new ArrayList<>()).add(email);
+        }
+        Map<String, Long> claimedAt = new HashMap<>();
+        byOwner.forEach((owner, ownerEmails) -> claimedAt.putAll(claim(owner, ownerEmails)));
+        taken.addAll(claimedAt.keySet());
+        taken.removeAll(takeOverStale(claimedAt));
+        return taken;
+    }
+
+    // Best effort: a claim that can't be released now is taken over later
+    public void release(Collection<String> emails) {
+        if (!isActive() || emails.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<String>> byOwner = new TreeMap<>();
+        for (String email : emails) {
+            byOwner.computeIfAbsent(ownerOf(email), owner -> new ArrayList<>()).add(email);
+        }
+        byOwner.forEach((owner, ownerEmails) -> {
+            try {
+                shardRouter.inTransaction(owner, () -> emailRepository.deleteByEmails(ownerEmails));
+            } catch (RuntimeException e) {
+                logger.warn("Could not release {} email claims on shard {}", ownerEmails.size(), owner, e);
+            }
+        });
+    }
+
+    // Claims the emails of employees written before the directory existed. Runs at startup after
+    // the shards are migrated, and only while no shard has a claim yet.
+    public void backfill() {
+        if (!isActive() || shardRouter.scatter(shard -> shardRouter.inReadOnlyTransaction(shard,
+                emailRepository::count)).stream().anyMatch(claims -> claims > 0)) {
+            return;
+        }
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            List<String> emails = shardRouter.inReadOnlyTransaction(shard, employeeRepository::findAllEmails);
+            Set<String> taken = claimAll(emails);
+            if (!taken.isEmpty()) {
+                logger.warn("{} emails of shard {} are also used on another shard: {}", taken.size(), shard, taken);
+            }
+            logger.info("Claimed {} emails of shard {}", emails.size() - taken.size(), shard);
+        }
+    }
+
+    // The claimedAt of the emails that were already claimed, the others are claimed now
+    private Map<String, Long> claim(int owner, List<String> emails) {
+        try {
+            return shardRouter.inTransaction(owner, () -> {
+                Map<String, Long> taken = new HashMap<>();
+                for (EmployeeEmail claim : emailRepository.findAllById(emails)) {
+                    taken.put(claim.getEmail(), claim.getClaimedAt());
+                }
+                long now = System.currentTimeMillis();
+                List<EmployeeEmail> free = new ArrayList<>(emails.size());
+                for (String email : emails) {
+                    if (!taken.containsKey(email)) {
+                        free.add(new EmployeeEmail(email, now));
+                    }
+                }
+                emailRepository.saveAll(free);
+                emailRepository.flush();
+                return taken;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // somebody claimed one of them in the meantime (or the same email in other case),
+            // one by one finds out which
+            if (emails.size() > 1) {
+                Map<String, Long> taken = new HashMap<>();
+                emails.forEach(email -> taken.putAll(claim(owner, List.of(email))));
+                return taken;
+            }
+            String email = emails.get(0);
+            EmployeeEmail claim = shardRouter.inReadOnlyTransaction(owner, () -> emailRepository.findById(email))
+                    .orElse(null);
+            return claim != null ? Map.of(email, claim.getClaimedAt()) : claim(owner, emails);
+        }
+    }
+
+    // The taken emails whose claim is past the grace period and that no shard has an employee with,
+    // taken over by this claim. One query per shard, only when there are such claims.
+    private Set<String> takeOverStale(Map<String, Long> claimedAt) {
+        long now = System.currentTimeMillis();
+        List<String> old = new ArrayList<>();
+        claimedAt.forEach((email, at) -> {
+            if (now - at >= grace.toMillis()) {
+                old.add(email);
+            }
+        });
+        Set<String> takenOver = new HashSet<>();
+        if (old.isEmpty()) {
+            return takenOver;
+        }
+        Set<String> used = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        shardRouter.scatter(shard -> shardRouter.inReadOnlyTransaction(shard,
+                () -> employeeRepository.findExistingEmails(old))).forEach(used::addAll);
+        for (String email : old) {
+            if (used.contains(email)) {
+                continue;
+            }
+            int owner = ownerOf(email);
+            if (shardRouter.inTransaction(owner, () -> emailRepository.takeOver(email, claimedAt.get(email), now)) > 0) {
+                logger.warn("Took over the stale claim of {} on shard {}", email, owner);
+                takenOver.add(email);
+            }
+        }
+        return takenOver;
+    }
+}
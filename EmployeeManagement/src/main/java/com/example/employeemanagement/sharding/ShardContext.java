@@ -0,0 +1,23 @@
+package com.example.employeemanagement.sharding;
+
+// The shard the current thread works on, read by ShardRoutingDataSource when a connection is
+// needed. Set through ShardRouter, only while sharding is on; unset means the default shard 0.
+public final class ShardContext {
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    // null when no shard was chosen
+    public static Integer get() {
+        return SHARD.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            SHARD.remove();
+        } else {
+            SHARD.set(shard);
+        }
+    }
+}
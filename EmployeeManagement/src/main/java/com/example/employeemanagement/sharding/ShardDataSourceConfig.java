@@ -0,0 +1,48 @@
+package com.example.employeemanagement.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Only active when employee.sharding.shard-urls is set, spring.datasource.url is unused then.
+// Every shard uses spring.datasource's driver and credentials and gets its own pool of pool-size.
+// Can't be combined with read replicas (employee.datasource.replica-urls).
+@Configuration
+@ConditionalOnProperty(prefix = "employee.sharding", name = "shard-urls")
+public class ShardDataSourceConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties,
+                                                         @Value("${employee.sharding.shard-urls}") List<String> shardUrls,
+                                                         @Value("${employee.sharding.pool-size:10}") int poolSize,
+                                                         @Value("${employee.datasource.replica-urls:}") String replicaUrls) {
+        if (!replicaUrls.isBlank()) {
+            throw new IllegalStateException("employee.sharding.shard-urls and employee.datasource.replica-urls can't be used together");
+        }
+        List<DataSource> shards = new ArrayList<>(shardUrls.size());
+        for (int i = 0; i < shardUrls.size(); i++) {
+            HikariDataSource shard = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(shardUrls.get(i).trim()).build();
+            shard.setPoolName("shard-" + i);
+            shard.setMaximumPoolSize(poolSize);
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    // What JPA and everything else use
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.employeemanagement.sharding;
+
+import com.example.employeemanagement.datasource.ReadWriteRoutingDataSource;
+import com.example.employeemanagement.exception.ServiceOverloadedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+// Decides which shard an employee lives on and runs work there. Employees are placed by department:
+// the departments listed in employee.sharding.departments go to their shard, any other department to
+// hash % shards. Time-ordered ids carry the shard they were created on (see embedShard), so a lookup
+// by id usually asks one shard; random ids and moved employees fall back to asking all of them.
+// With a single shard every method runs the work directly on the one database, nothing is routed.
+public class ShardRouter {
+    public static final int MAX_SHARDS = 256;
+    // bits 61..54 of a UUIDv7, the top of the random part right below the variant
+    private static final int SHARD_SHIFT = 54;
+
+    private final int shardCount;
+    private final Map<String, Integer> departmentShards;
+    private final TransactionTemplate readWrite;
+    private final TransactionTemplate readOnly;
+    private final Executor executor;
+    private final Duration scatterTimeout;
+
+    // The executor only runs scatter work and must not be one that scatter callers run on
+    public ShardRouter(int shardCount, Map<String, Integer> departmentShards,
+                       PlatformTransactionManager transactionManager, Executor executor, Duration scatterTimeout) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + MAX_SHARDS + ": " + shardCount);
+        }
+        this.shardCount = shardCount;
+        this.departmentShards = new HashMap<>();
+        departmentShards.forEach((department, shard) -> {
+            if (shard < 0 || shard >= shardCount) {
+                throw new IllegalArgumentException("Department " + department + " is mapped to shard " + shard
+                        + " but there are only " + shardCount);
+            }
+            this.departmentShards.put(key(department), shard);
+        });
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.executor = executor;
+        this.scatterTimeout = scatterTimeout;
+    }
+
+    // No sharding, everything goes to the one database
+    public static ShardRouter single(PlatformTransactionManager transactionManager) {
+        return new ShardRouter(1, Map.of(), transactionManager, Runnable::run, Duration.ZERO);
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardFor(String department) {
+        if (shardCount == 1 || department == null) {
+            return 0;
+        }
+        String key = key(department);
+        Integer shard = departmentShards.get(key);
+        return shard != null ? shard : Math.floorMod(key.hashCode(), shardCount);
+    }
+
+    // The shard a time-ordered id was created on, -1 when the id doesn't tell
+    public int shardHint(UUID id) {
+        if (shardCount == 1 || id.version() != 7) {
+            return -1;
+        }
+        int shard = (int) ((id.getLeastSignificantBits() >>> SHARD_SHIFT) & 0xFF);
+        return shard < shardCount ? shard : -1;
+    }
+
+    // Overwrites 8 of the 62 random bits of a UUIDv7 with the shard, ordering is unaffected
+    public static UUID embedShard(UUID id, int shard) {
+        long lsb = (id.getLeastSignificantBits() & ~(0xFFL << SHARD_SHIFT)) | ((long) shard << SHARD_SHIFT);
+        return new UUID(id.getMostSignificantBits(), lsb);
+    }
+
+    // Runs the work with connections from the given shard, outside of any transaction it starts itself
+    public <T> T withShard(int shard, Supplier<T> work) {
+        if (shardCount == 1) {
+            return work.get();
+        }
+        if (shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("No such shard: " + shard);
+        }
+        Integer previous = ShardContext.get();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    public <T> T inTransaction(int shard, Supplier<T> work) {
+        return inTransaction(shard, readWrite, work);
+    }
+
+    // With read replicas this may run on a replica, and once more on the primary if that fails
+    public <T> T inReadOnlyTransaction(int shard, Supplier<T> work) {
+        return ReadWriteRoutingDataSource.withPrimaryFallback(() -> inTransaction(shard, readOnly, work));
+    }
+
+    // For reads with side effects, e.g. streaming rows to a consumer: never run a second time
+    public <T> T inReadOnlyTransactionOnce(int shard, Supplier<T> work) {
+        return inTransaction(shard, readOnly, work);
+    }
+
+    // One result per shard, in shard order. The other shards run on the executor while the
+    // calling thread takes shard 0, so a scatter costs about as long as the slowest shard.
+    // A shard that hasn't answered within the scatter timeout (counted from the start) fails the
+    // whole scatter with a 503, its work keeps running but the caller no longer waits for it.
+    public <T> List<T> scatter(IntFunction<T> work) {
+        if (shardCount == 1) {
+            return Collections.singletonList(work.apply(0));
+        }
+        List<CompletableFuture<T>> others = new ArrayList<>(shardCount - 1);
+        for (int shard = 1; shard < shardCount; shard++) {
+            int target = shard;
+            others.add(CompletableFuture.supplyAsync(() -> work.apply(target), executor));
+        }
+        long deadline = System.nanoTime() + scatterTimeout.toNanos();
+        List<T> results = new ArrayList<>(shardCount);
+        results.add(work.apply(0));
+        for (CompletableFuture<T> other : others) {
+            results.add(join(other, results.size(), deadline));
+        }
+        return results;
+    }
+
+    // The first non-null result of the lookup, run in a read-only transaction on the id's shard
+    // and, when that finds nothing, on all the other shards at once
+    public <T> T findFirst(UUID id, Supplier<T> lookup) {
+        if (shardCount == 1) {
+            return inReadOnlyTransaction(0, lookup);
+        }
+        int hint = shardHint(id);
+        if (hint >= 0) {
+            T found = inReadOnlyTransaction(hint, lookup);
+            if (found != null) {
+                return found;
+            }
+        }
+        for (T found : scatter(shard -> shard == hint ? null : inReadOnlyTransaction(shard, lookup))) {
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    // The shard holding the id, -1 when none does. Without sharding this is always 0 and the
+    // check doesn't run, the caller's write finds out whether the row exists.
+    public int locate(UUID id, BooleanSupplier exists) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        Integer shard = findFirst(id, () -> exists.getAsBoolean() ? ShardContext.get() : null);
+        return shard == null ? -1 : shard;
+    }
+
+    private <T> T inTransaction(int shard, TransactionTemplate template, Supplier<T> work) {
+        // joining a transaction that is already bound to a connection would run on its shard instead
+        if (shardCount > 1 && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Shard transactions can't run inside another transaction");
+        }
+        return withShard(shard, () -> template.execute(status -> work.get()));
+    }
+
+    private <T> T join(CompletableFuture<T> future, int shard, long deadline) {
+        try {
+            return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException("Shard " + shard + " did not answer within " + scatterTimeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard " + shard, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static String key(String department) {
+        return department.trim().toUpperCase(Locale.ROOT);
+    }
+}
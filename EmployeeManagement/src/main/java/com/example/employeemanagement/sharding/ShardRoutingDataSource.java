@@ -0,0 +1,56 @@
+package com.example.employeemanagement.sharding;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+// Hands out connections of the shard in ShardContext, shard 0 when none is set (schema creation
+// at startup, anything that isn't shard aware). Must sit behind a LazyConnectionDataSourceProxy so a
+// transaction only picks its shard at the first statement. Owns and closes the shard pools.
+public class ShardRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is needed");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return current().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return current().getConnection(username, password);
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private DataSource current() throws SQLException {
+        Integer shard = ShardContext.get();
+        if (shard == null) {
+            return shards.get(0);
+        }
+        if (shard < 0 || shard >= shards.size()) {
+            throw new SQLException("No such shard: " + shard);
+        }
+        return shards.get(shard);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.employeemanagement.sharding;
+
+import jakarta.annotation.PostConstruct;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Spring Boot's Flyway migrates the connection it gets at startup, which is shard 0. This runs the
+// same migrations with the same settings on every other shard, so all shards have the same schema
+// version; a shard that was created by ddl-auto is baselined like shard 0. Then the emails written
+// before the email directory existed are claimed (EmailDirectory.backfill).
+@Component
+@ConditionalOnProperty(prefix = "employee.sharding", name = "shard-urls")
+public class ShardSchemaInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private final Flyway flyway;
+    private final DataSource dataSource;
+    private final ShardRouter shardRouter;
+    private final EmailDirectory emailDirectory;
+
+    public ShardSchemaInitializer(Flyway flyway, DataSource dataSource, ShardRouter shardRouter,
+                                  EmailDirectory emailDirectory) {
+        this.flyway = flyway;
+        this.dataSource = dataSource;
+        this.shardRouter = shardRouter;
+        this.emailDirectory = emailDirectory;
+    }
+
+    @PostConstruct
+    public void migrateShards() {
+        Flyway shardFlyway = Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(dataSource)
+                .load();
+        for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+            MigrateResult result = shardRouter.withShard(shard, shardFlyway::migrate);
+            if (result.migrationsExecuted > 0) {
+                logger.info("Applied {} migrations on shard {}, now at version {}", result.migrationsExecuted, shard,
+                        result.targetSchemaVersion);
+            }
+        }
+        emailDirectory.backfill();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.employeemanagement.sharding;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The router always exists, with a single shard while employee.sharding.shard-urls is unset.
+// employee.sharding.departments pins departments to shards (HR:0,Finance:1), so their placement
+// doesn't change when shards are added. Scatter-gather reads run on threads of their own: callers
+// block on them from request threads and from the async executors, and must never wait for a pool
+// they are running on.
+@Configuration
+public class ShardingConfig {
+    public static final String SCATTER_EXECUTOR = "shardScatterExecutor";
+
+    @Bean
+    public ShardRouter shardRouter(@Value("${employee.sharding.shard-urls:}") List<String> shardUrls,
+                                   @Value("${employee.sharding.departments:}") List<String> departments,
+                                   @Value("${employee.sharding.scatter-timeout:10s}") Duration scatterTimeout,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier(SCATTER_EXECUTOR) ThreadPoolTaskExecutor scatterExecutor) {
+        return new ShardRouter(Math.max(1, shardUrls.size()), departmentShards(departments),
+                transactionManager, scatterExecutor, scatterTimeout);
+    }
+
+    // A scatter holds one connection of every shard but the first, more threads than the other
+    // shards have connections would only wait for them. Threads start on first use.
+    @Bean(SCATTER_EXECUTOR)
+    public ThreadPoolTaskExecutor shardScatterExecutor(@Value("${employee.sharding.shard-urls:}") List<String> shardUrls,
+                                                       @Value("${employee.sharding.pool-size:10}") int poolSize) {
+        int threads = Math.max(1, (shardUrls.size() - 1) * poolSize);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("shard-scatter-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.initialize();
+        return executor;
+    }
+
+    static Map<String, Integer> departmentShards(List<String> entries) {
+        Map<String, Integer> departmentShards = new HashMap<>();
+        for (String entry : entries) {
+            int colon = entry.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Expected department:shard in employee.sharding.departments: " + entry);
+            }
+            departmentShards.put(entry.substring(0, colon).trim(), Integer.parseInt(entry.substring(colon + 1).trim()));
+        }
+        return departmentShards;
+    }
+}
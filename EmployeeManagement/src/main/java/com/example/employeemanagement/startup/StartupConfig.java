@@ -0,0 +1,25 @@
+package com.example.employeemanagement.startup;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// employee.startup.lazy-beans names beans that serving requests does not wait for (e.g. mailSender,
+// only used by the email outbox). They are created on first use instead of during startup; whoever
+// injects them takes a @Lazy proxy, otherwise the injection would create them right away.
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyBeans(Environment environment) {
+        String[] names = environment.getProperty("employee.startup.lazy-beans", String[].class, new String[0]);
+        return beanFactory -> {
+            for (String name : names) {
+                if (beanFactory.containsBeanDefinition(name.trim())) {
+                    beanFactory.getBeanDefinition(name.trim()).setLazyInit(true);
+                }
+            }
+        };
+    }
+}
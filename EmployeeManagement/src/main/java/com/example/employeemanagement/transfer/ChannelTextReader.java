@@ -0,0 +1,80 @@
+package com.example.employeemanagement.transfer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+// Reads UTF-8 text from a channel through one direct byte buffer and one char buffer,
+// so memory stays the same however big the input is. Not thread safe.
+public class ChannelTextReader {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer bytes;
+    private final CharBuffer chars;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private boolean endOfInput;
+    private boolean flushed;
+
+    public ChannelTextReader(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.bytes = ByteBuffer.allocateDirect(bufferSize);
+        this.chars = CharBuffer.allocate(bufferSize);
+        this.bytes.flip();
+        this.chars.flip();
+    }
+
+    // Next char, or -1 at the end of the input
+    public int read() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get();
+    }
+
+    // Appends the next line without its line break, returns false at the end of the input
+    public boolean readLine(StringBuilder line) throws IOException {
+        int c = read();
+        if (c == -1) {
+            return false;
+        }
+        while (c != -1 && c != '\n') {
+            line.append((char) c);
+            c = read();
+        }
+        if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return true;
+    }
+
+    private boolean fill() throws IOException {
+        if (flushed) {
+            return false;
+        }
+        chars.clear();
+        while (chars.position() == 0) {
+            if (!endOfInput) {
+                bytes.compact();
+                endOfInput = channel.read(bytes) == -1;
+                bytes.flip();
+            }
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (endOfInput) {
+                decoder.flush(chars);
+                flushed = true;
+                break;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+}
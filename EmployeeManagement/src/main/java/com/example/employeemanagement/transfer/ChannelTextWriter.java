@@ -0,0 +1,60 @@
+package com.example.employeemanagement.transfer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+// Encodes text as UTF-8 straight into a direct buffer and writes it to the channel when full.
+// Not thread safe, call flush at the end.
+public class ChannelTextWriter {
+    private final WritableByteChannel channel;
+    private final ByteBuffer bytes;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+    public ChannelTextWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.bytes = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    public void write(CharSequence text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, false);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isError()) {
+                result.throwException();
+            } else {
+                return;
+            }
+        }
+    }
+
+    public void write(byte[] data) throws IOException {
+        int offset = 0;
+        while (offset < data.length) {
+            if (!bytes.hasRemaining()) {
+                drain();
+            }
+            int length = Math.min(bytes.remaining(), data.length - offset);
+            bytes.put(data, offset, length);
+            offset += length;
+        }
+    }
+
+    public void flush() throws IOException {
+        drain();
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.employeemanagement.transfer;
+
+import com.example.employeemanagement.exception.InvalidInputException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 CSV: comma separated, fields may be quoted, "" is a quote inside a quoted field,
+// and quoted fields may span lines. Empty lines are skipped.
+public class CsvRecordReader {
+    private enum State { FIELD_START, UNQUOTED, QUOTED, QUOTE_IN_QUOTED }
+
+    private final ChannelTextReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private long line = 1;
+    private long recordLine;
+
+    public CsvRecordReader(ChannelTextReader reader) {
+        this.reader = reader;
+    }
+
+    // Fields of the next record, or null at the end of the input
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        State state = State.FIELD_START;
+        recordLine = line;
+
+        while (true) {
+            int c = reader.read();
+            if (c == -1) {
+                if (state == State.QUOTED) {
+                    // malformed input, a 400 like any other bad upload
+                    throw new InvalidInputException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (state == State.FIELD_START && fields.isEmpty()) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (c == '\r' && state != State.QUOTED) {
+                continue;
+            }
+
+            switch (state) {
+                case FIELD_START, UNQUOTED, QUOTE_IN_QUOTED -> {
+                    if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                        state = State.FIELD_START;
+                    } else if (c == '\n') {
+                        line++;
+                        if (state == State.FIELD_START && fields.isEmpty()) {
+                            // empty line
+                            recordLine = line;
+                            continue;
+                        }
+                        fields.add(field.toString());
+                        return fields;
+                    } else if (c == '"' && state == State.FIELD_START) {
+                        state = State.QUOTED;
+                    } else if (c == '"' && state == State.QUOTE_IN_QUOTED) {
+                        // "" inside a quoted field
+                        field.append('"');
+                        state = State.QUOTED;
+                    } else {
+                        field.append((char) c);
+                        state = State.UNQUOTED;
+                    }
+                }
+                case QUOTED -> {
+                    if (c == '"') {
+                        state = State.QUOTE_IN_QUOTED;
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                }
+            }
+        }
+    }
+
+    // Line the last record returned by next() started on, 1 based
+    public long recordLine() {
+        return recordLine;
+    }
+
+    // Quotes the value when it contains a separator, a quote or a line break
+    public static void appendField(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
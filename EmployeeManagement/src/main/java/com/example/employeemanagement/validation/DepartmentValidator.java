@@ -0,0 +1,77 @@
+package com.example.employeemanagement.validation;
+
+import com.example.employeemanagement.Model.Employee;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// Checks the department against the list served by the external department service
+// (GET {url}, answers ["HR", "Operation", ...]). The whole list is cached for cache-ttl and
+// refreshed in the background halfway through, so requests almost never wait for it.
+// Without a url the built-in HR, Operation and Finance list is used.
+@Component
+@Order(2)
+public class DepartmentValidator implements EmployeeValidator {
+    private static final Set<String> DEFAULT_DEPARTMENTS = Set.of("HR", "OPERATION", "FINANCE");
+    private static final String ALL = "all";
+
+    private final RestClient restClient;
+    private final Duration timeout;
+    private final LoadingCache<String, Set<String>> departments;
+
+    public DepartmentValidator(RestClient.Builder restClientBuilder,
+                               @Value("${employee.validation.department.url:}") String url,
+                               @Value("${employee.validation.department.timeout:500ms}") Duration timeout,
+                               @Value("${employee.validation.department.cache-ttl:10m}") Duration cacheTtl) {
+        this.restClient = url.isBlank() ? null : restClientBuilder.baseUrl(url).requestFactory(EmailValidator.requestFactory(timeout)).build();
+        this.timeout = timeout;
+        this.departments = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .refreshAfterWrite(cacheTtl.dividedBy(2))
+                .build(key -> fetchDepartments());
+    }
+
+    @Override
+    public String name() {
+        return "department";
+    }
+
+    @Override
+    public String errorMessage() {
+        return "Department validation failed";
+    }
+
+    @Override
+    public Duration timeout() {
+        return timeout;
+    }
+
+    @Override
+    public boolean isValid(Employee employee) {
+        String department = employee.getDepartment();
+        if (department == null) {
+            return false;
+        }
+        Set<String> known = restClient == null ? DEFAULT_DEPARTMENTS : departments.get(ALL);
+        return known.contains(department.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private Set<String> fetchDepartments() {
+        String[] names = restClient.get().retrieve().body(String[].class);
+        Set<String> result = new HashSet<>();
+        if (names != null) {
+            for (String name : names) {
+                result.add(name.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return Set.copyOf(result);
+    }
+}
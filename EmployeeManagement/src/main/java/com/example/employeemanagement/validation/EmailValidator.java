@@ -0,0 +1,85 @@
+package com.example.employeemanagement.validation;
+
+import com.example.employeemanagement.Model.Employee;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Locale;
+
+// Checks the email with the external verification service (GET {url}?email=..., answers {"valid": true|false}).
+// Verdicts are cached per address for cache-ttl. Without a url only the format is checked locally.
+@Component
+@Order(1)
+public class EmailValidator implements EmployeeValidator {
+    private final RestClient restClient;
+    private final Duration timeout;
+    private final Cache<String, Boolean> verdicts;
+
+    public EmailValidator(RestClient.Builder restClientBuilder,
+                          @Value("${employee.validation.email.url:}") String url,
+                          @Value("${employee.validation.email.timeout:500ms}") Duration timeout,
+                          @Value("${employee.validation.email.cache-ttl:1h}") Duration cacheTtl,
+                          @Value("${employee.validation.email.cache-size:100000}") long cacheSize) {
+        this.restClient = url.isBlank() ? null : restClientBuilder.baseUrl(url).requestFactory(requestFactory(timeout)).build();
+        this.timeout = timeout;
+        this.verdicts = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    public String errorMessage() {
+        return "Email validation failed";
+    }
+
+    @Override
+    public Duration timeout() {
+        return timeout;
+    }
+
+    @Override
+    public boolean isValid(Employee employee) {
+        String email = employee.getEmail();
+        if (email == null || !email.contains("@")) {
+            return false;
+        }
+        if (restClient == null) {
+            return true;
+        }
+        // concurrent checks of the same address share one remote call, failures are not cached
+        return verdicts.get(email.trim().toLowerCase(Locale.ROOT), this::verify);
+    }
+
+    private boolean verify(String email) {
+        EmailCheck check = restClient.get()
+                .uri(uriBuilder -> uriBuilder.queryParam("email", email).build())
+                .retrieve()
+                .body(EmailCheck.class);
+        return check != null && check.valid();
+    }
+
+    // ValidationPipeline enforces the timeout, the HTTP timeouts only make sure abandoned calls end
+    static JdkClientHttpRequestFactory requestFactory(Duration timeout) {
+        Duration httpTimeout = timeout.multipliedBy(2);
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(httpTimeout).build());
+        requestFactory.setReadTimeout(httpTimeout);
+        return requestFactory;
+    }
+
+    record EmailCheck(boolean valid) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.employeemanagement.validation;
+
+import com.example.employeemanagement.Model.Employee;
+
+import java.time.Duration;
+
+// One independent check run by ValidationPipeline. Implementations are Spring beans,
+// @Order decides which error message wins when several checks fail.
+public interface EmployeeValidator {
+
+    // used for metrics, logs and the circuit breaker
+    String name();
+
+    // returned to the client when isValid returns false
+    String errorMessage();
+
+    // a slower check counts as a failure of the dependency behind it
+    Duration timeout();
+
+    // false means the input is invalid, an exception means the check itself could not be done
+    boolean isValid(Employee employee);
+}
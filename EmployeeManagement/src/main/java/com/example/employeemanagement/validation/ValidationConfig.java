@@ -0,0 +1,52 @@
+package com.example.employeemanagement.validation;
+
+import com.example.employeemanagement.async.AsyncConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+
+// The checks mostly wait on I/O and get threads of their own: callers block on them from request
+// threads and from the async executors, and must never wait for a pool they are running on.
+@Configuration
+public class ValidationConfig {
+    public static final String VALIDATION_EXECUTOR = "validationExecutor";
+
+    @Bean
+    public ValidationPipeline validationPipeline(List<EmployeeValidator> validators,
+                                                 @Qualifier(VALIDATION_EXECUTOR) AsyncTaskExecutor validationExecutor,
+                                                 MeterRegistry meterRegistry,
+                                                 @Value("${employee.validation.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                                 @Value("${employee.validation.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        return new ValidationPipeline(validators, validationExecutor, meterRegistry, failureThreshold, openDuration);
+    }
+
+    // Virtual threads when the async executors use them, otherwise a fixed pool with a bounded queue.
+    // A check that finds the queue full makes the validation unavailable (503) at once, one that
+    // waits in it runs out of its timeout there (see ValidationPipeline.run).
+    @Bean(name = VALIDATION_EXECUTOR)
+    public AsyncTaskExecutor validationExecutor(@Qualifier(AsyncConfig.VIRTUAL_EXECUTOR) ObjectProvider<SimpleAsyncTaskExecutor> virtualThreadExecutor,
+                                                @Value("${employee.validation.threads:32}") int threads,
+                                                @Value("${employee.validation.queue-capacity:1000}") int queueCapacity) {
+        if (virtualThreadExecutor.getIfAvailable() != null) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("validation-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("validation-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.employeemanagement.validation;
+
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.exception.InvalidInputException;
+import com.example.employeemanagement.exception.ValidationUnavailableException;
+import com.example.employeemanagement.metrics.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Runs every EmployeeValidator at the same time, so a create waits for the slowest check
+// instead of the sum of all of them. Each validator has its own timeout and circuit breaker:
+// a check that times out, throws or is short-circuited makes the whole validation unavailable
+// (503) rather than accepting or rejecting the employee on a guess.
+// Every check is timed as employee.validation, tagged by validator and outcome.
+public class ValidationPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(ValidationPipeline.class);
+    // employees of a batch whose checks are in flight at the same time, see checkAll
+    static final int BATCH_WINDOW = 32;
+
+    private enum Outcome { VALID, INVALID, UNAVAILABLE }
+
+    private final List<EmployeeValidator> validators;
+    private final Map<String, CircuitBreaker> circuitBreakers = new HashMap<>();
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+
+    public ValidationPipeline(List<EmployeeValidator> validators, Executor executor, MeterRegistry meterRegistry,
+                              int failureThreshold, Duration openDuration) {
+        this.validators = List.copyOf(validators);
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        for (EmployeeValidator validator : validators) {
+            circuitBreakers.put(validator.name(), new CircuitBreaker(failureThreshold, openDuration));
+        }
+    }
+
+    // Throws InvalidInputException with the message of the first failed validator
+    public void validate(Employee employee) {
+        String error = check(employee);
+        if (error != null) {
+            throw new InvalidInputException(error);
+        }
+    }
+
+    // Returns the message of the first failed validator in order, null when every check passed
+    public String check(Employee employee) {
+        return resolve(start(employee));
+    }
+
+    // check for a whole batch without waiting for one employee before starting the next: the checks of
+    // BATCH_WINDOW employees are in flight together, so a batch costs about one round trip per window
+    // instead of one per employee. Per employee the result is what check returns, or the message of
+    // ValidationUnavailableException where check would throw it.
+    public List<String> checkAll(List<Employee> employees) {
+        List<String> errors = new ArrayList<>(employees.size());
+        for (int from = 0; from < employees.size(); from += BATCH_WINDOW) {
+            List<Employee> window = employees.subList(from, Math.min(from + BATCH_WINDOW, employees.size()));
+            List<List<CompletableFuture<Outcome>>> started = new ArrayList<>(window.size());
+            for (Employee employee : window) {
+                started.add(start(employee));
+            }
+            for (List<CompletableFuture<Outcome>> outcomes : started) {
+                try {
+                    errors.add(resolve(outcomes));
+                } catch (ValidationUnavailableException e) {
+                    errors.add(e.getMessage());
+                }
+            }
+        }
+        return errors;
+    }
+
+    private List<CompletableFuture<Outcome>> start(Employee employee) {
+        List<CompletableFuture<Outcome>> outcomes = new ArrayList<>(validators.size());
+        for (EmployeeValidator validator : validators) {
+            outcomes.add(run(validator, employee));
+        }
+        return outcomes;
+    }
+
+    private String resolve(List<CompletableFuture<Outcome>> outcomes) {
+        String unavailable = null;
+        for (int i = 0; i < validators.size(); i++) {
+            Outcome outcome = outcomes.get(i).join();
+            if (outcome == Outcome.INVALID) {
+                return validators.get(i).errorMessage();
+            }
+            if (outcome == Outcome.UNAVAILABLE && unavailable == null) {
+                unavailable = validators.get(i).name();
+            }
+        }
+        if (unavailable != null) {
+            throw new ValidationUnavailableException("The " + unavailable + " validation service is unavailable, please retry later");
+        }
+        return null;
+    }
+
+    private CompletableFuture<Outcome> run(EmployeeValidator validator, Employee employee) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(validator.name());
+        if (!circuitBreaker.tryAcquire()) {
+            record(validator, "rejected", 0);
+            return CompletableFuture.completedFuture(Outcome.UNAVAILABLE);
+        }
+
+        // the timeout starts at submission, so waiting for a free thread counts as well and every
+        // result is in within the timeout; a check that ran out of time in the queue is not started
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> result = new CompletableFuture<Boolean>()
+                .orTimeout(validator.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        try {
+            executor.execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    result.complete(validator.isValid(employee));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the queue is full
+            result.completeExceptionally(e);
+        }
+        return result
+                .handle((valid, error) -> {
+                    long elapsed = System.nanoTime() - start;
+                    if (error == null) {
+                        circuitBreaker.onSuccess();
+                        record(validator, valid ? "valid" : "invalid", elapsed);
+                        return valid ? Outcome.VALID : Outcome.INVALID;
+                    }
+
+                    circuitBreaker.onFailure();
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    String outcome = cause instanceof TimeoutException ? "timeout"
+                            : cause instanceof RejectedExecutionException ? "overloaded" : "error";
+                    record(validator, outcome, elapsed);
+                    logger.warn("{} validation failed: {}", validator.name(), outcome.equals("error") ? cause.toString() : outcome);
+                    return Outcome.UNAVAILABLE;
+                });
+    }
+
+    private void record(EmployeeValidator validator, String outcome, long nanos) {
+        Timer.builder(MetricsConfig.VALIDATION_TIMER)
+                .tag(MetricsConfig.VALIDATOR_TAG, validator.name())
+                .tag(MetricsConfig.OUTCOME_TAG, outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
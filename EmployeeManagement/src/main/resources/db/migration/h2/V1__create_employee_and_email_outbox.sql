@@ -0,0 +1,37 @@
+-- The schema Hibernate's ddl-auto used to create from Model.Employee and Model.EmailOutbox.
+-- Databases created that way are baselined at V0 (spring.flyway.baseline-on-migrate) and still run
+-- this script: whatever of it ddl-auto already created is skipped, the rest is added.
+
+create table if not exists employee (
+    id uuid not null,
+    first_name varchar(40) not null,
+    last_name varchar(40) not null,
+    email varchar(255) not null,
+    department varchar(255) not null,
+    salary numeric(38,2) not null,
+    version bigint default 0 not null,
+    primary key (id),
+    constraint uk_employee_email unique (email)
+);
+
+-- ddl-auto created employee without the version
+alter table employee add column if not exists version bigint default 0 not null;
+
+-- search: department equality + salary range, and last name prefix
+create index if not exists idx_employee_department_salary on employee (department, salary);
+create index if not exists idx_employee_last_name on employee (last_name);
+
+create table if not exists email_outbox (
+    id uuid not null,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body varchar(4000) not null,
+    status varchar(20) not null,
+    attempts integer not null,
+    next_attempt_at timestamp(6) with time zone not null,
+    created_at timestamp(6) with time zone not null,
+    last_error varchar(1000),
+    primary key (id)
+);
+
+create index if not exists idx_email_outbox_status_next_attempt on email_outbox (status, next_attempt_at);
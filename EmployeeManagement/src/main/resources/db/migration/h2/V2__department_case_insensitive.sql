@@ -0,0 +1,3 @@
+-- The search filters on department regardless of case, HR and hr are the same department.
+-- A case-insensitive column keeps that an indexed equality on idx_employee_department_salary.
+alter table employee alter column department set data type varchar_ignorecase(255);
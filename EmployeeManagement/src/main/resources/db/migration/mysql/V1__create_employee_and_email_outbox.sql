@@ -0,0 +1,63 @@
+-- The schema Hibernate's ddl-auto used to create from Model.Employee and Model.EmailOutbox.
+-- Databases created that way are baselined at V0 (spring.flyway.baseline-on-migrate) and still run
+-- this script: whatever of it ddl-auto already created is skipped, the rest is added.
+-- MySQL has no "if not exists" for columns and indexes, those are looked up in information_schema.
+
+create table if not exists employee (
+    id binary(16) not null,
+    first_name varchar(40) not null,
+    last_name varchar(40) not null,
+    email varchar(255) not null,
+    department varchar(255) not null,
+    salary decimal(38,2) not null,
+    version bigint default 0 not null,
+    primary key (id),
+    constraint uk_employee_email unique (email)
+) engine=InnoDB;
+
+-- ddl-auto created employee without the version
+set @ddl = if((select count(*) from information_schema.columns
+               where table_schema = database() and table_name = 'employee' and column_name = 'version') = 0,
+    'alter table employee add column version bigint default 0 not null',
+    'do 0');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
+
+-- search: department equality + salary range, and last name prefix
+set @ddl = if((select count(*) from information_schema.statistics
+               where table_schema = database() and table_name = 'employee' and index_name = 'idx_employee_department_salary') = 0,
+    'create index idx_employee_department_salary on employee (department, salary)',
+    'do 0');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
+
+set @ddl = if((select count(*) from information_schema.statistics
+               where table_schema = database() and table_name = 'employee' and index_name = 'idx_employee_last_name') = 0,
+    'create index idx_employee_last_name on employee (last_name)',
+    'do 0');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
+
+create table if not exists email_outbox (
+    id binary(16) not null,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body varchar(4000) not null,
+    status varchar(20) not null,
+    attempts integer not null,
+    next_attempt_at datetime(6) not null,
+    created_at datetime(6) not null,
+    last_error varchar(1000),
+    primary key (id)
+) engine=InnoDB;
+
+set @ddl = if((select count(*) from information_schema.statistics
+               where table_schema = database() and table_name = 'email_outbox' and index_name = 'idx_email_outbox_status_next_attempt') = 0,
+    'create index idx_email_outbox_status_next_attempt on email_outbox (status, next_attempt_at)',
+    'do 0');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
@@ -0,0 +1,3 @@
+-- The search filters on department regardless of case, HR and hr are the same department.
+-- A case-insensitive collation keeps that an indexed equality on idx_employee_department_salary.
+alter table employee modify department varchar(255) collate utf8mb4_0900_as_ci not null;
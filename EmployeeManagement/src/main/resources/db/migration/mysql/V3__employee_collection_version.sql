@@ -0,0 +1,9 @@
+-- Version of the employee table as a whole, the ETag of /get-all-employee (cache.EmployeeCollectionVersion).
+-- One row, bumped by every transaction that writes employees. The epoch keeps tags of a recreated
+-- database from matching.
+create table employee_collection_version (
+    epoch varchar(36) not null,
+    version bigint not null
+);
+
+insert into employee_collection_version (epoch, version) values (uuid(), 0);
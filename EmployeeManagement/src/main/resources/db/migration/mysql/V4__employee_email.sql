@@ -0,0 +1,7 @@
+-- Emails claimed on this shard (sharding.EmailDirectory): every email is claimed on the shard its
+-- hash points to, whichever shard the employee lives on. Unused without sharding.
+create table employee_email (
+    email varchar(255) not null,
+    claimed_at bigint not null,
+    primary key (email)
+) engine=InnoDB;
@@ -0,0 +1,183 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.Controller.EmployeeController;
+import com.example.employeemanagement.Controller.EmployeeTransferController;
+import com.example.employeemanagement.admission.AdaptiveConcurrencyLimit;
+import com.example.employeemanagement.admission.Admission;
+import com.example.employeemanagement.admission.AdmissionInterceptor;
+import com.example.employeemanagement.admission.EndpointCost;
+import com.example.employeemanagement.admission.EndpointLimiter;
+import com.example.employeemanagement.admission.TokenBucket;
+import com.example.employeemanagement.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class AdmissionControlTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testTokenBucket_AllowsBurstThenRate() {
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.tryAcquire());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    void testConcurrencyLimit_RejectsBeyondLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 100);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.release(1_000_000);
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    void testConcurrencyLimit_ShrinksWhenLatencyGrowsAndRecovers() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 100, 10);
+
+        runWindows(limit, 20, TimeUnit.MILLISECONDS.toNanos(5));
+        int steady = limit.limit();
+        assertTrue(steady > 50, "a saturated limit at steady latency grows, got " + steady);
+
+        runWindows(limit, 20, TimeUnit.MILLISECONDS.toNanos(50));
+        int overloaded = limit.limit();
+        assertTrue(overloaded < steady / 2, "10x latency shrinks the limit, got " + overloaded + " from " + steady);
+
+        runWindows(limit, 40, TimeUnit.MILLISECONDS.toNanos(5));
+        assertTrue(limit.limit() > overloaded, "back at normal latency the limit grows again, got " + limit.limit());
+    }
+
+    @Test
+    void testInterceptor_RejectsWith429AndReleasesSlotAfterCompletion() throws Exception {
+        EndpointLimiter limiter = new EndpointLimiter(EndpointCost.LIST, new TokenBucket(1, 2, now::get),
+                new AdaptiveConcurrencyLimit(1, 1, 1, 10), new SimpleMeterRegistry());
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(Map.of(EndpointCost.LIST, limiter));
+        HandlerMethod handler = new HandlerMethod(new Endpoints(), Endpoints.class.getMethod("list"));
+
+        MockHttpServletRequest first = new MockHttpServletRequest();
+        assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), handler));
+
+        // the only slot is taken
+        ServiceOverloadedException busy = assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, busy.getStatus());
+
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), handler, null);
+
+        // both tokens of the burst are spent, the next one comes in a second
+        ServiceOverloadedException tooMany = assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, tooMany.getStatus());
+        assertEquals(1, tooMany.getRetryAfter().toSeconds());
+    }
+
+    @Test
+    void testInterceptor_LimitsStreamExportAndImport() throws Exception {
+        Map<EndpointCost, EndpointLimiter> limiters = Map.of(
+                EndpointCost.LIST, oneAtATime(EndpointCost.LIST),
+                EndpointCost.BULK, oneAtATime(EndpointCost.BULK));
+        List<HandlerMethod> handlers = List.of(
+                new HandlerMethod(mock(EmployeeController.class),
+                        EmployeeController.class.getMethod("streamAllEmployees")),
+                new HandlerMethod(mock(EmployeeTransferController.class),
+                        EmployeeTransferController.class.getMethod("exportEmployees", String.class)),
+                new HandlerMethod(mock(EmployeeTransferController.class),
+                        EmployeeTransferController.class.getMethod("importEmployees", String.class, HttpServletRequest.class)));
+
+        for (HandlerMethod handler : handlers) {
+            AdmissionInterceptor interceptor = new AdmissionInterceptor(limiters);
+            MockHttpServletRequest first = new MockHttpServletRequest();
+            assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), handler));
+            assertThrows(ServiceOverloadedException.class,
+                    () -> interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler),
+                    handler.getMethod().getName() + " got past a full limit");
+            interceptor.afterCompletion(first, new MockHttpServletResponse(), handler, null);
+        }
+    }
+
+    // The interceptor lets every handler without @Admission through, so an expensive endpoint that
+    // forgets the annotation is unlimited. Only these are left out on purpose.
+    private static final Set<String> UNLIMITED = Set.of(
+            // in-memory reads
+            "DepartmentAnalyticsController.getAllDepartmentStats",
+            "DepartmentAnalyticsController.getDepartmentStats",
+            "TypeaheadController.typeahead",
+            "EmployeeController.getCacheStats",
+            // open for as long as the subscriber listens, it would hold a slot all that time
+            "ChangeFeedController.changes");
+
+    @Test
+    void testEveryHandler_IsUnderAdmissionOrKnownCheap() throws Exception {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
+        List<String> unlimited = new ArrayList<>();
+        for (BeanDefinition controller : scanner.findCandidateComponents("com.example.employeemanagement")) {
+            Class<?> type = Class.forName(controller.getBeanClassName());
+            for (Method method : type.getDeclaredMethods()) {
+                String name = type.getSimpleName() + "." + method.getName();
+                if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)
+                        && !method.isAnnotationPresent(Admission.class) && !UNLIMITED.contains(name)) {
+                    unlimited.add(name);
+                }
+            }
+        }
+        assertEquals(List.of(), unlimited, "handlers without @Admission");
+    }
+
+    private EndpointLimiter oneAtATime(EndpointCost cost) {
+        return new EndpointLimiter(cost, new TokenBucket(1000, 1000, now::get),
+                new AdaptiveConcurrencyLimit(1, 1, 1, 10), new SimpleMeterRegistry());
+    }
+
+    // Fills the limit, then completes every admitted request with the given latency
+    private static void runWindows(AdaptiveConcurrencyLimit limit, int rounds, long latencyNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limit.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limit.release(latencyNanos);
+            }
+        }
+    }
+
+    static class Endpoints {
+        @Admission(EndpointCost.LIST)
+        public void list() {
+        }
+    }
+}
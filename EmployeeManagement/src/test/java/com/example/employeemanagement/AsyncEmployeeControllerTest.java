@@ -0,0 +1,98 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.Service.EmployeeAsyncService;
+import com.example.employeemanagement.Service.EmployeeService;
+import com.example.employeemanagement.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// Tomcat gets 4 threads while the async endpoints run the (mocked) service call on their own pool.
+// Every call waits until all REQUESTS calls are running at once, which blocking endpoints could
+// never reach with 4 threads: the test passes on the count reached, not on how long anything took.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=4",
+        "server.tomcat.threads.min-spare=4",
+        "employee.async.service.threads=" + AsyncEmployeeControllerTest.REQUESTS,
+        "employee.admission.enabled=false",
+        "employee.email.outbox.poll-interval=1h"})
+class AsyncEmployeeControllerTest {
+    static final int REQUESTS = 40;
+    private static final int TOMCAT_THREADS = 4;
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private EmployeeService employeeService;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final CountDownLatch allInFlight = new CountDownLatch(REQUESTS);
+
+    @BeforeEach
+    void setUp() {
+        when(employeeService.getEmployeeById(any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            allInFlight.countDown();
+            try {
+                // only runs into the timeout when the calls can't all be in flight, the test fails then
+                allInFlight.await(30, TimeUnit.SECONDS);
+                return new EmployeeDTO(invocation.getArgument(0), "Ada", "Lovelace", "ada@example.com", "HR",
+                        new BigDecimal("50000"), 0L);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    @Test
+    void testInFlightRequests_ScaleBeyondTomcatThreads() {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        List<CompletableFuture<Integer>> requests = IntStream.range(0, REQUESTS)
+                .mapToObj(i -> get(client, "/api/v1/employee/async/get-employee/by-id/" + UUID.randomUUID()))
+                .toList();
+        requests.forEach(request -> assertEquals(200, request.join()));
+
+        assertEquals(REQUESTS, maxInFlight.get(),
+                "expected all " + REQUESTS + " calls in flight at once with " + TOMCAT_THREADS + " Tomcat threads");
+    }
+
+    @Test
+    void testFullExecutor_FailsWith503InsteadOfBlocking() {
+        EmployeeAsyncService full = new EmployeeAsyncService(employeeService, task -> {
+            throw new RejectedExecutionException();
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> full.getEmployeeById(UUID.randomUUID()).get());
+        assertInstanceOf(ServiceOverloadedException.class, e.getCause());
+    }
+
+    private CompletableFuture<Integer> get(HttpClient client, String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+    }
+}
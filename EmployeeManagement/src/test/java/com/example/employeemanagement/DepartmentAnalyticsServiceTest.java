@@ -0,0 +1,181 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.DTO.DepartmentStatsDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.Service.DepartmentAnalyticsService;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DepartmentAnalyticsServiceTest {
+
+    private EmployeeRepository employeeRepository;
+    private DepartmentAnalyticsService analyticsService;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        analyticsService = new DepartmentAnalyticsService(employeeRepository, mock(EntityManager.class),
+                ShardRouter.single(mock(PlatformTransactionManager.class)), false);
+    }
+
+    @Test
+    void testCreate_UpdatesAggregates() {
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.created(employee("HR", "50000.00")));
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.created(employee("hr", "70000.00")));
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.created(employee("Finance", "60000.00")));
+
+        DepartmentStatsDTO hr = analyticsService.getDepartmentStats("HR");
+        assertEquals(2, hr.getHeadcount());
+        assertEquals(new BigDecimal("120000.00"), hr.getTotalSalary());
+        assertEquals(new BigDecimal("60000.00"), hr.getAverageSalary());
+        assertEquals(new BigDecimal("50000.00"), hr.getMinSalary());
+        assertEquals(new BigDecimal("70000.00"), hr.getMaxSalary());
+        assertEquals(2, analyticsService.getAllDepartmentStats().size());
+    }
+
+    @Test
+    void testUpdate_MovesSalaryBetweenDepartments() {
+        Employee employee = employee("HR", "50000.00");
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.created(employee));
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.created(employee("HR", "80000.00")));
+
+        employee.setDepartment("Finance");
+        employee.setSalary(new BigDecimal("55000.00"));
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.updated(employee));
+
+        DepartmentStatsDTO hr = analyticsService.getDepartmentStats("HR");
+        assertEquals(1, hr.getHeadcount());
+        assertEquals(new BigDecimal("80000.00"), hr.getMinSalary());
+        assertEquals(new BigDecimal("80000.00"), hr.getTotalSalary());
+
+        DepartmentStatsDTO finance = analyticsService.getDepartmentStats("Finance");
+        assertEquals(1, finance.getHeadcount());
+        assertEquals(new BigDecimal("55000.00"), finance.getMaxSalary());
+    }
+
+    @Test
+    void testDelete_RemovesMaxAndEmptyDepartment() {
+        Employee low = employee("HR", "40000.00");
+        Employee high = employee("HR", "90000.00");
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.created(low));
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.created(high));
+
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.deleted(high.getId()));
+        assertEquals(new BigDecimal("40000.00"), analyticsService.getDepartmentStats("HR").getMaxSalary());
+
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.deleted(low.getId()));
+        assertNull(analyticsService.getDepartmentStats("HR"));
+        // a repeated delete is ignored
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.deleted(low.getId()));
+        assertTrue(analyticsService.getAllDepartmentStats().isEmpty());
+    }
+
+    @Test
+    void testRebuild_ReplacesStateFromTable() {
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.created(employee("Operation", "30000.00")));
+        when(employeeRepository.streamAll()).thenReturn(Stream.of(employee("Finance", "10.10"), employee("Finance", "20.20")));
+
+        analyticsService.rebuild();
+
+        List<DepartmentStatsDTO> stats = analyticsService.getAllDepartmentStats();
+        assertEquals(1, stats.size());
+        assertEquals(new BigDecimal("30.30"), stats.get(0).getTotalSalary());
+        assertEquals(new BigDecimal("15.15"), stats.get(0).getAverageSalary());
+    }
+
+    @Test
+    void testUpdate_OlderVersionArrivingLateIsIgnored() {
+        Employee employee = employee("HR", "50000.00");
+        employee.setVersion(0L);
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.created(employee));
+        EmployeeChangedEvent first = EmployeeChangedEvent.updated(version(employee("Finance", "60000.00"), employee.getId(), 1));
+        EmployeeChangedEvent second = EmployeeChangedEvent.updated(version(employee("Legal", "70000.00"), employee.getId(), 2));
+
+        // the listeners of two commits ran in the opposite order
+        analyticsService.onEmployeeChanged(second);
+        analyticsService.onEmployeeChanged(first);
+
+        assertNull(analyticsService.getDepartmentStats("HR"));
+        assertNull(analyticsService.getDepartmentStats("Finance"));
+        assertEquals(new BigDecimal("70000.00"), analyticsService.getDepartmentStats("Legal").getTotalSalary());
+    }
+
+    @Test
+    void testDelete_LateUpdateDoesNotBringTheEmployeeBack() {
+        Employee employee = version(employee("HR", "50000.00"), UUID.randomUUID(), 0);
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.created(employee));
+
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.deleted(employee.getId()));
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.updated(version(employee("HR", "55000.00"), employee.getId(), 1)));
+
+        assertNull(analyticsService.getDepartmentStats("HR"));
+    }
+
+    @Test
+    void testRebuild_ReadsAndChangesDoNotWaitForTheLoad() {
+        analyticsService.onEmployeeChanged(EmployeeChangedEvent.created(employee("Operation", "30000.00")));
+        when(employeeRepository.streamAll()).thenAnswer(invocation -> Stream.of(employee("Finance", "10.10")).peek(employee -> {
+            // from another thread, a rebuild holding the lock would time these out
+            DepartmentStatsDTO operation = assertDoesNotThrow(() -> CompletableFuture
+                    .supplyAsync(() -> analyticsService.getDepartmentStats("Operation")).get(5, TimeUnit.SECONDS));
+            assertEquals(1, operation.getHeadcount());
+            assertDoesNotThrow(() -> CompletableFuture.runAsync(() -> analyticsService.onEmployeeChanged(
+                    EmployeeChangedEvent.created(employee("Legal", "40000.00")))).get(5, TimeUnit.SECONDS));
+        }));
+
+        analyticsService.rebuild();
+
+        assertNull(analyticsService.getDepartmentStats("Operation"));
+        assertEquals(1, analyticsService.getDepartmentStats("Finance").getHeadcount());
+        // committed during the load, replayed onto the rebuilt figures
+        assertEquals(1, analyticsService.getDepartmentStats("Legal").getHeadcount());
+    }
+
+    @Test
+    void testRebuild_ChangesCommittedDuringLoadKeepTheNewestVersion() {
+        Employee moved = version(employee("HR", "50000.00"), UUID.randomUUID(), 1);
+        Employee deleted = version(employee("HR", "60000.00"), UUID.randomUUID(), 0);
+        EmployeeChangedEvent staleUpdate = EmployeeChangedEvent.updated(version(employee("Legal", "1.00"), moved.getId(), 0));
+        EmployeeChangedEvent move = EmployeeChangedEvent.updated(version(employee("Finance", "55000.00"), moved.getId(), 2));
+        when(employeeRepository.streamAll()).thenAnswer(invocation -> Stream.of(moved, deleted).peek(employee -> {
+            if (employee == deleted) {
+                // the load read both rows before these committed, the stale update is older than the row read
+                analyticsService.onEmployeeChanged(staleUpdate);
+                analyticsService.onEmployeeChanged(move);
+                analyticsService.onEmployeeChanged(EmployeeChangedEvent.deleted(deleted.getId()));
+            }
+        }));
+
+        analyticsService.rebuild();
+
+        assertNull(analyticsService.getDepartmentStats("HR"));
+        assertNull(analyticsService.getDepartmentStats("Legal"));
+        assertEquals(new BigDecimal("55000.00"), analyticsService.getDepartmentStats("Finance").getTotalSalary());
+    }
+
+    private static Employee version(Employee employee, UUID id, long version) {
+        employee.setId(id);
+        employee.setVersion(version);
+        return employee;
+    }
+
+    private static Employee employee(String department, String salary) {
+        return new Employee(UUID.randomUUID(), "Hadeel", "Aldawsari", UUID.randomUUID() + "@example.com",
+                department, new BigDecimal(salary));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.Model.EmailOutbox;
+import com.example.employeemanagement.Model.EmailOutboxStatus;
+import com.example.employeemanagement.Repository.EmailOutboxRepository;
+import com.example.employeemanagement.Service.EmailOutboxDispatcher;
+import com.example.employeemanagement.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class EmailOutboxDispatcherTest {
+
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+
+    private FakeMailSender mailSender;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mailSender = new FakeMailSender();
+        meterRegistry = new SimpleMeterRegistry();
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        dispatcher = new EmailOutboxDispatcher(emailOutboxRepository, mailSender, new TransactionTemplate(transactionManager),
+                ShardRouter.single(transactionManager),
+                50, 3, Duration.ofSeconds(30), Duration.ofMinutes(5), meterRegistry);
+    }
+
+    @Test
+    void testDispatchPending_SendsWholeBatchOverOneConnection() {
+        List<EmailOutbox> batch = List.of(entry("a@example.com", 0), entry("b@example.com", 0), entry("c@example.com", 0));
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(eq(EmailOutboxStatus.PENDING), any(), any()))
+                .thenReturn(batch);
+
+        int sent = dispatcher.dispatchPending();
+
+        assertEquals(3, sent);
+        assertEquals(1, mailSender.batches.size());
+        assertEquals(3, mailSender.batches.get(0).length);
+        verify(emailOutboxRepository, times(1)).deleteAllInBatch(batch);
+        verify(emailOutboxRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testDispatchPending_FailedEmailIsRescheduledWithBackoff() {
+        EmailOutbox ok = entry("ok@example.com", 0);
+        EmailOutbox bad = entry("bad@example.com", 0);
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(eq(EmailOutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of(ok, bad));
+        mailSender.failingRecipients.add("bad@example.com");
+        Instant before = Instant.now();
+
+        int sent = dispatcher.dispatchPending();
+
+        assertEquals(1, sent);
+        assertEquals(1, meterRegistry.counter("employee.email.sent").count());
+        assertEquals(1, meterRegistry.counter("employee.email.failed").count());
+        assertEquals(1, meterRegistry.timer("employee.email.send").count());
+        verify(emailOutboxRepository).deleteAllInBatch(List.of(ok));
+        ArgumentCaptor<List<EmailOutbox>> saved = ArgumentCaptor.forClass(List.class);
+        verify(emailOutboxRepository).saveAll(saved.capture());
+        EmailOutbox retried = saved.getValue().get(0);
+        assertEquals("bad@example.com", retried.getRecipient());
+        assertEquals(EmailOutboxStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertFalse(retried.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+    }
+
+    @Test
+    void testDispatchPending_ConnectionFailureRetriesWholeBatch() {
+        List<EmailOutbox> batch = List.of(entry("a@example.com", 0), entry("b@example.com", 0));
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(eq(EmailOutboxStatus.PENDING), any(), any()))
+                .thenReturn(batch);
+        mailSender.down = true;
+
+        int sent = dispatcher.dispatchPending();
+
+        assertEquals(0, sent);
+        verify(emailOutboxRepository, never()).deleteAllInBatch(any());
+        verify(emailOutboxRepository).saveAll(batch);
+        assertTrue(batch.stream().allMatch(e -> e.getAttempts() == 1));
+    }
+
+    @Test
+    void testDispatchPending_GivesUpAfterMaxAttempts() {
+        EmailOutbox bad = entry("bad@example.com", 2);
+        when(emailOutboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(eq(EmailOutboxStatus.PENDING), any(), any()))
+                .thenReturn(List.of(bad));
+        mailSender.failingRecipients.add("bad@example.com");
+
+        dispatcher.dispatchPending();
+
+        assertEquals(EmailOutboxStatus.FAILED, bad.getStatus());
+        assertEquals(3, bad.getAttempts());
+    }
+
+    @Test
+    void testBackoff_DoublesAndIsCapped() {
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(60), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(120), dispatcher.backoff(3));
+        assertEquals(Duration.ofMinutes(5), dispatcher.backoff(10));
+    }
+
+    private static EmailOutbox entry(String recipient, int attempts) {
+        Instant now = Instant.now();
+        return new EmailOutbox(UUID.randomUUID(), recipient, "Welcome!", "Hello", EmailOutboxStatus.PENDING,
+                attempts, now, now, null);
+    }
+
+    // Local fake that records every batch instead of talking to an SMTP server
+    private static class FakeMailSender extends JavaMailSenderImpl {
+        private final List<SimpleMailMessage[]> batches = new ArrayList<>();
+        private final Set<String> failingRecipients = new HashSet<>();
+        private boolean down;
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) {
+            if (down) {
+                throw new MailSendException("Connection refused");
+            }
+            batches.add(simpleMessages);
+
+            Map<Object, Exception> failed = new HashMap<>();
+            for (SimpleMailMessage message : simpleMessages) {
+                if (failingRecipients.contains(message.getTo()[0])) {
+                    failed.put(message, new IllegalStateException("Mailbox unavailable"));
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new MailSendException(failed);
+            }
+        }
+    }
+}
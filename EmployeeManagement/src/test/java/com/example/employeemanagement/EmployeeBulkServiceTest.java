@@ -0,0 +1,190 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.DTO.BulkCreateResultDTO;
+import com.example.employeemanagement.DTO.BulkRowErrorDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeEmailRepository;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.Service.EmailService;
+import com.example.employeemanagement.Service.EmployeeBulkService;
+import com.example.employeemanagement.sharding.EmailDirectory;
+import com.example.employeemanagement.sharding.ShardRouter;
+import com.example.employeemanagement.validation.DepartmentValidator;
+import com.example.employeemanagement.validation.EmailValidator;
+import com.example.employeemanagement.validation.ValidationPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class EmployeeBulkServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private EmployeeBulkService bulkService;
+
+    // every saveAll call with the employees it got, copied because the service reuses its lists
+    private final List<List<Employee>> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        ShardRouter shardRouter = ShardRouter.single(transactionManager);
+        ValidationPipeline validationPipeline = new ValidationPipeline(
+                List.of(new EmailValidator(RestClient.builder(), "", Duration.ofSeconds(1), Duration.ofHours(1), 1000),
+                        new DepartmentValidator(RestClient.builder(), "", Duration.ofSeconds(1), Duration.ofMinutes(10))),
+                Runnable::run, new SimpleMeterRegistry(), 5, Duration.ofSeconds(30));
+        bulkService = new EmployeeBulkService(employeeRepository, validationPipeline, emailService,
+                Validation.buildDefaultValidatorFactory().getValidator(), new TransactionTemplate(transactionManager),
+                entityManager, eventPublisher, shardRouter, new EmailDirectory(mock(EmployeeEmailRepository.class),
+                        employeeRepository, shardRouter, Duration.ofMinutes(1)), 2, 100);
+
+        when(employeeRepository.findExistingEmails(any())).thenReturn(List.of());
+        when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            saved.add(List.copyOf(employees));
+            return employees;
+        });
+    }
+
+    @Test
+    void testCreateEmployees_InvalidRowsAreReportedOthersCreated() {
+        BulkCreateResultDTO result = bulkService.createEmployees(List.of(
+                employee("ada@example.com", "HR"),
+                employee("", "HR"),                        // bean validation
+                employee("grace@example.com", "Marketing"),  // department check
+                employee("alan@example.com", "Finance")));
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(1, 2), rows(result));
+        assertEquals(List.of("ada@example.com", "alan@example.com"), savedEmails());
+    }
+
+    @Test
+    void testCreateEmployees_DuplicateInBatchRejectedAfterFirst() {
+        BulkCreateResultDTO result = bulkService.createEmployees(List.of(
+                employee("ada@example.com", "HR"),
+                employee("alan@example.com", "HR"),
+                employee("ada@example.com", "Finance")));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(2), rows(result));
+        assertEquals("Duplicate email, already used in row 0", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void testCreateEmployees_EmailsCompareExactlyLikeTheUniqueConstraint() {
+        BulkCreateResultDTO result = bulkService.createEmployees(List.of(
+                employee("ada@example.com", "HR"),
+                employee("Ada@example.com", "HR")));
+
+        assertEquals(2, result.getCreated());
+        assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    void testCreateEmployees_ExistingEmailRejected() {
+        when(employeeRepository.findExistingEmails(any())).thenReturn(List.of("ada@example.com"));
+
+        BulkCreateResultDTO result = bulkService.createEmployees(List.of(
+                employee("ada@example.com", "HR"),
+                employee("alan@example.com", "HR")));
+
+        assertEquals(1, result.getCreated());
+        assertEquals(List.of(0), rows(result));
+        assertEquals("Email already exists", result.getErrors().get(0).getMessage());
+        assertEquals(List.of("alan@example.com"), savedEmails());
+    }
+
+    @Test
+    void testCreateEmployees_FailedChunkIsRetriedRowByRow() {
+        doAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            if (employees.size() > 1 || employees.get(0).getEmail().startsWith("bad")) {
+                throw new IllegalStateException("constraint violation");
+            }
+            saved.add(List.copyOf(employees));
+            return employees;
+        }).when(employeeRepository).saveAll(anyList());
+
+        BulkCreateResultDTO result = bulkService.createEmployees(List.of(
+                employee("ada@example.com", "HR"),
+                employee("bad@example.com", "HR"),
+                employee("alan@example.com", "HR")));
+
+        // chunk size 2: the first chunk fails and is retried row by row, the second has one row
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(1), rows(result));
+        assertEquals("constraint violation", result.getErrors().get(0).getMessage());
+        assertEquals(List.of("ada@example.com", "alan@example.com"), savedEmails());
+        verify(emailService, times(2)).queueEmails(anyList());
+    }
+
+    @Test
+    void testCreateEmployees_RetriedRowsAreInsertedAsNew() {
+        // the failed attempt leaves an id and a version on the entities, like a rolled back persist does
+        List<Boolean> retriedAsNew = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            if (employees.size() > 1) {
+                employees.forEach(employee -> {
+                    employee.setId(UUID.randomUUID());
+                    employee.setVersion(0L);
+                });
+                throw new IllegalStateException("constraint violation");
+            }
+            retriedAsNew.add(employees.get(0).getId() == null && employees.get(0).getVersion() == null);
+            return employees;
+        }).when(employeeRepository).saveAll(anyList());
+
+        BulkCreateResultDTO result = bulkService.createEmployees(List.of(
+                employee("ada@example.com", "HR"),
+                employee("alan@example.com", "HR")));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(true, true), retriedAsNew);
+    }
+
+    private List<String> savedEmails() {
+        return saved.stream().flatMap(List::stream).map(Employee::getEmail).toList();
+    }
+
+    private static List<Integer> rows(BulkCreateResultDTO result) {
+        return result.getErrors().stream().map(BulkRowErrorDTO::getRow).toList();
+    }
+
+    private static Employee employee(String email, String department) {
+        return new Employee(UUID.randomUUID(), "Ada", "Lovelace", email, department, new BigDecimal("50000.00"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.cache.CacheConfig;
+import com.example.employeemanagement.cache.EmployeeCache;
+import com.example.employeemanagement.cache.EmployeeCacheEvictor;
+import com.example.employeemanagement.datasource.ReadYourWrites;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeCacheTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private EmployeeCache employeeCache;
+    private EmployeeCacheEvictor evictor;
+    private UUID id;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.EMPLOYEES);
+        employeeCache = new EmployeeCache(cacheManager, List.of());
+        evictor = new EmployeeCacheEvictor(employeeCache);
+        id = UUID.randomUUID();
+    }
+
+    @Test
+    void testLoadsOnceAndServesFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        employeeCache.get(id, () -> { loads.incrementAndGet(); return dto(0L); });
+        EmployeeDTO second = employeeCache.get(id, () -> { loads.incrementAndGet(); return dto(0L); });
+
+        assertEquals(1, loads.get());
+        assertEquals(0L, second.getVersion());
+    }
+
+    @Test
+    void testNullIsNotCached() {
+        assertNull(employeeCache.get(id, () -> null));
+        assertNull(employeeCache.peek(id));
+    }
+
+    @Test
+    void testUpdateEvictsEntry() {
+        employeeCache.get(id, () -> dto(0L));
+
+        evictor.onEmployeeChanged(EmployeeChangedEvent.updated(employee(id)));
+
+        assertNull(employeeCache.peek(id));
+    }
+
+    @Test
+    void testStaleLoadRacingWithUpdateIsNotCached() {
+        // the read selects the old row, then the update commits and evicts before the read puts it
+        EmployeeDTO loaded = employeeCache.get(id, () -> {
+            EmployeeDTO old = dto(0L);
+            evictor.onEmployeeChanged(EmployeeChangedEvent.updated(employee(id)));
+            return old;
+        });
+
+        assertEquals(0L, loaded.getVersion());
+        assertNull(employeeCache.peek(id));
+        assertEquals(1L, employeeCache.get(id, () -> dto(1L)).getVersion());
+    }
+
+    @Test
+    void testStaleLoadRacingWithDeleteIsNotCached() {
+        employeeCache.get(id, () -> {
+            EmployeeDTO old = dto(0L);
+            evictor.onEmployeeChanged(EmployeeChangedEvent.deleted(id));
+            return old;
+        });
+
+        assertNull(employeeCache.peek(id));
+    }
+
+    @Test
+    void testCreateDoesNotEvict() {
+        employeeCache.get(id, () -> dto(0L));
+
+        evictor.onEmployeeChanged(EmployeeChangedEvent.created(employee(UUID.randomUUID())));
+
+        assertNotNull(employeeCache.peek(id));
+    }
+
+    @Test
+    void testReplicaReadIsNotCached() {
+        EmployeeCache withReplicas = new EmployeeCache(cacheManager, List.of("jdbc:h2:mem:replica"));
+
+        assertEquals(0L, withReplicas.get(id, () -> dto(0L)).getVersion());
+
+        assertNull(withReplicas.peek(id));
+    }
+
+    @Test
+    void testPinnedReadIsCachedWithReplicas() {
+        EmployeeCache withReplicas = new EmployeeCache(cacheManager, List.of("jdbc:h2:mem:replica"));
+
+        ReadYourWrites.pin();
+        try {
+            withReplicas.get(id, () -> dto(0L));
+        } finally {
+            ReadYourWrites.unpin();
+        }
+
+        assertNotNull(withReplicas.peek(id));
+    }
+
+    private static Employee employee(UUID id) {
+        return new Employee(id, "Hadeel", "Aldawsari", "hadeel@example.com", "HR", new BigDecimal("50000.00"));
+    }
+
+    private EmployeeDTO dto(Long version) {
+        EmployeeDTO dto = new EmployeeDTO();
+        dto.setId(id);
+        dto.setVersion(version);
+        return dto;
+    }
+}
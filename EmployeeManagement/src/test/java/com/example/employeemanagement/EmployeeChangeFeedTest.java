@@ -0,0 +1,210 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.DTO.EmployeeChangeDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.event.EmployeeChangeFeed;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeChangeFeedTest {
+
+    private EmployeeChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        // 5 buffered changes, 3 queued per subscriber, 2 subscribers at most
+        feed = new EmployeeChangeFeed(new SimpleMeterRegistry(), 5, 3, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void testSubscribe_ReceivesLiveChangesInOrder() throws InterruptedException {
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe(null, sink);
+
+        publish(3);
+
+        assertEquals(List.of(1L, 2L, 3L), sink.take(3));
+    }
+
+    @Test
+    void testSubscribe_ResumesFromBuffer() throws InterruptedException {
+        publish(4);
+
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe(feed.eventId(2), sink);
+        publish(1);
+
+        assertEquals(List.of(3L, 4L, 5L), sink.take(3));
+    }
+
+    @Test
+    void testSubscribe_IdOfAnotherRunGetsReset() throws InterruptedException {
+        publish(4);
+        EmployeeChangeFeed otherRun = new EmployeeChangeFeed(new SimpleMeterRegistry(), 5, 3, 2);
+
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe(otherRun.eventId(2), sink);
+        publish(1);
+
+        // sequence 2 of the other run is not our 2, the client has to reload
+        assertEquals(List.of(-4L, 5L), sink.take(2));
+        otherRun.shutdown();
+    }
+
+    @Test
+    void testSubscribe_MalformedIdGetsReset() throws InterruptedException {
+        publish(1);
+
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe("1", sink);
+
+        assertEquals(List.of(-1L), sink.take(1));
+    }
+
+    @Test
+    void testSubscribe_TooFarBehindGetsReset() throws InterruptedException {
+        publish(8);
+
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe(feed.eventId(1), sink);
+        publish(1);
+
+        // reset to the current position, then live changes only
+        assertEquals(List.of(-8L, 9L), sink.take(2));
+    }
+
+    @Test
+    void testSlowSubscriber_NeverBlocksWritesAndIsDisconnected() throws InterruptedException {
+        BlockingSink slow = new BlockingSink();
+        feed.subscribe(null, slow);
+
+        // the first send blocks, the queue holds 3 more, everything after that overflows
+        long start = System.nanoTime();
+        publish(50);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+
+        slow.release.countDown();
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    @Test
+    void testStalledSubscribers_DoNotHoldUpOthers() throws InterruptedException {
+        EmployeeChangeFeed wide = new EmployeeChangeFeed(new SimpleMeterRegistry(), 5, 3, 20);
+        List<BlockingSink> stalled = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            BlockingSink sink = new BlockingSink();
+            wide.subscribe(null, sink);
+            stalled.add(sink);
+        }
+        RecordingSink healthy = new RecordingSink();
+        wide.subscribe(null, healthy);
+
+        for (int i = 0; i < 2; i++) {
+            wide.onEmployeeChanged(EmployeeChangedEvent.created(employee(i)));
+        }
+
+        // every stalled client is stuck in its first send, the healthy one still gets everything
+        assertEquals(List.of(1L, 2L), healthy.take(2));
+        stalled.forEach(sink -> sink.release.countDown());
+        wide.shutdown();
+    }
+
+    @Test
+    void testSubscribe_LimitsSubscribers() {
+        feed.subscribe(null, new RecordingSink());
+        feed.subscribe(null, new RecordingSink());
+
+        assertThrows(ServiceOverloadedException.class, () -> feed.subscribe(null, new RecordingSink()));
+    }
+
+    private void publish(int count) {
+        for (int i = 0; i < count; i++) {
+            feed.onEmployeeChanged(EmployeeChangedEvent.created(employee(i)));
+        }
+    }
+
+    private static Employee employee(int i) {
+        return new Employee(UUID.randomUUID(), "Hadeel", "Aldawsari", i + "@example.com", "HR", new BigDecimal("50000.00"));
+    }
+
+    // Records sequences, a reset is recorded as its negative sequence
+    private static class RecordingSink implements EmployeeChangeFeed.Sink {
+        private final LinkedBlockingQueue<Long> sequences = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(EmployeeChangeDTO change) {
+            sequences.add(change.getSequence());
+        }
+
+        @Override
+        public void reset(String eventId) {
+            sequences.add(-Long.parseLong(eventId.substring(eventId.lastIndexOf('-') + 1)));
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void complete() {
+        }
+
+        List<Long> take(int count) throws InterruptedException {
+            List<Long> taken = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Long sequence = sequences.poll(5, TimeUnit.SECONDS);
+                assertNotNull(sequence, "only received " + taken);
+                taken.add(sequence);
+            }
+            return taken;
+        }
+    }
+
+    private static class BlockingSink implements EmployeeChangeFeed.Sink {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(EmployeeChangeDTO change) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void reset(String eventId) {
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
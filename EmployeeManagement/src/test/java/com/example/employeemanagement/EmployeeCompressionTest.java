@@ -0,0 +1,89 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// server.compression through the real Tomcat: large list responses go out gzipped with their weak
+// ETag, Tomcat would leave them uncompressed with a strong one
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:compression;DB_CLOSE_DELAY=-1",
+        "employee.admission.enabled=false",
+        "employee.email.outbox.poll-interval=1h"})
+class EmployeeCompressionTest {
+    private static final int EMPLOYEES = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        if (employeeRepository.count() > 0) {
+            return;
+        }
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee(null, "Hadeel", "Aldawsari", "hadeel" + i + "@example.com", "HR",
+                    new BigDecimal("50000.00")));
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @Test
+    void testLargeList_IsGzippedWithWeakEtag() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = get("gzip");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/\""));
+        // header names are case-insensitive, Tomcat sends them lowercased
+        List<String> vary = response.headers().allValues("Vary").stream()
+                .flatMap(value -> Arrays.stream(value.split(","))).map(String::trim).toList();
+        for (String header : List.of("Accept", "Accept-Encoding")) {
+            assertTrue(vary.stream().anyMatch(header::equalsIgnoreCase), vary.toString());
+        }
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            assertTrue(new String(body.readAllBytes()).contains("hadeel99@example.com"));
+        }
+    }
+
+    @Test
+    void testClientWithoutGzip_GetsPlainJson() throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = get("identity");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+    }
+
+    private HttpResponse<InputStream> get(String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/employee/get-all-employee"))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", acceptEncoding)
+                .GET()
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.employeemanagement;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 304 while nothing changed, 200 after a write, also when the write went through another instance
+// (simulated by changing the database directly, this instance's events and cache never see it)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-get;DB_CLOSE_DELAY=-1",
+        "employee.admission.enabled=false",
+        "employee.email.outbox.poll-interval=1h"})
+@AutoConfigureMockMvc
+class EmployeeConditionalGetTest {
+    private static final String API = "/api/v1/employee";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testList_NotModifiedUntilWrite() throws Exception {
+        create("Hadeel", "hadeel.list@example.com");
+        String etag = listEtag();
+
+        mockMvc.perform(get(API + "/get-all-employee").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        create("Khalid", "khalid.list@example.com");
+
+        assertNotEquals(etag, mockMvc.perform(get(API + "/get-all-employee").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testList_WriteOnAnotherInstanceChangesTag() throws Exception {
+        create("Sara", "sara.list@example.com");
+        String etag = listEtag();
+
+        jdbcTemplate.update("update employee_collection_version set version = version + 1");
+
+        mockMvc.perform(get(API + "/get-all-employee").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testById_WriteOnAnotherInstanceIsNotHiddenByCache() throws Exception {
+        UUID id = create("Nora", "nora.byid@example.com");
+        // loads the row into this instance's cache
+        String etag = mockMvc.perform(get(API + "/get-employee/by-id/" + id))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(API + "/get-employee/by-id/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        jdbcTemplate.update("update employee set version = version + 1 where email = ?", "nora.byid@example.com");
+
+        mockMvc.perform(get(API + "/get-employee/by-id/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    private UUID create(String firstName, String email) throws Exception {
+        mockMvc.perform(post(API + "/create").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"firstName": "%s", "lastName": "Aldawsari", "email": "%s", "department": "HR", "salary": 50000}
+                        """.formatted(firstName, email)))
+                .andExpect(status().isOk());
+        MvcResult list = mockMvc.perform(get(API + "/get-all-employee")).andExpect(status().isOk()).andReturn();
+        String id = JsonPath.<List<String>>read(list.getResponse().getContentAsString(),
+                "$[?(@.email == '" + email + "')].id").get(0);
+        return UUID.fromString(id);
+    }
+
+    private String listEtag() throws Exception {
+        String etag = mockMvc.perform(get(API + "/get-all-employee"))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The generator behind @EmployeeId, created by Hibernate through Spring's bean container.
+// A @DataJpaTest has no IdGeneratorConfig, the setting is passed to Hibernate directly.
+@DataJpaTest(properties = "spring.jpa.properties.employee.id.generator=time-ordered")
+public class EmployeeIdGeneratorTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testPersist_GeneratesTimeOrderedIds() {
+        Employee first = employeeRepository.saveAndFlush(employee("hadeel@example.com"));
+        Employee second = employeeRepository.saveAndFlush(employee("khalid@example.com"));
+        entityManager.clear();
+
+        assertEquals(7, first.getId().version());
+        assertTrue(compareUnsigned(first.getId(), second.getId()) < 0);
+        assertEquals("hadeel@example.com", employeeRepository.findById(first.getId()).orElseThrow().getEmail());
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static Employee employee(String email) {
+        return new Employee(null, "Hadeel", "Aldawsari", email, "HR", new BigDecimal("50000.00"));
+    }
+}
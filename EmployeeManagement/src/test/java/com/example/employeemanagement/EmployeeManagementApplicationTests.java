@@ -6,6 +6,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 @SpringBootTest
 class EmployeeManagementApplicationTests {
 
+    // ddl-auto=validate: also fails when the Flyway migrations and the entities disagree
     @Test
     void contextLoads() {
     }
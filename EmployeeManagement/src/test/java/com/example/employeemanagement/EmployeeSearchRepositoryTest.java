@@ -0,0 +1,128 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.example.employeemanagement.Repository.EmployeeSpecifications.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+// The search filters against the schema the Flyway migrations create, one test per combination
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class EmployeeSearchRepositoryTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.saveAll(List.of(
+                employee("Alice", "Aldawsari", "HR", "40000.00"),
+                employee("Bob", "Alharbi", "HR", "60000.00"),
+                employee("Carol", "Baker", "Finance", "55000.00"),
+                employee("Dave", "Alqahtani", "finance", "75000.00"),
+                employee("Erin", "Brown", "Operation", "90000.00")));
+        employeeRepository.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testNoFilter_ReturnsEveryone() {
+        assertEquals(List.of("Aldawsari", "Alharbi", "Alqahtani", "Baker", "Brown"),
+                lastNames(Specification.where(hasDepartment(null))
+                        .and(lastNameStartsWith(null)).and(salaryAtLeast(null)).and(salaryAtMost(null))));
+    }
+
+    @Test
+    void testDepartment_IgnoresCase() {
+        assertEquals(List.of("Alqahtani", "Baker"), lastNames(hasDepartment("FINANCE")));
+        assertEquals(List.of("Aldawsari", "Alharbi"), lastNames(hasDepartment("hr")));
+        assertEquals(List.of(), lastNames(hasDepartment("Fin")));
+    }
+
+    @Test
+    void testLastNamePrefix() {
+        assertEquals(List.of("Aldawsari", "Alharbi", "Alqahtani"), lastNames(lastNameStartsWith("Al")));
+        assertEquals(List.of(), lastNames(lastNameStartsWith("al")));
+    }
+
+    @Test
+    void testLastNamePrefix_WildcardsAreLiteral() {
+        assertEquals(List.of(), lastNames(lastNameStartsWith("%")));
+        assertEquals(List.of(), lastNames(lastNameStartsWith("A_d")));
+    }
+
+    @Test
+    void testMinSalary_IsInclusive() {
+        assertEquals(List.of("Alharbi", "Alqahtani", "Brown"), lastNames(salaryAtLeast(new BigDecimal("60000"))));
+    }
+
+    @Test
+    void testMaxSalary_IsInclusive() {
+        assertEquals(List.of("Aldawsari", "Baker"), lastNames(salaryAtMost(new BigDecimal("55000"))));
+    }
+
+    @Test
+    void testSalaryRange() {
+        assertEquals(List.of("Alharbi", "Baker"),
+                lastNames(salaryAtLeast(new BigDecimal("50000")).and(salaryAtMost(new BigDecimal("60000")))));
+    }
+
+    @Test
+    void testDepartmentAndSalaryRange() {
+        assertEquals(List.of("Alqahtani"), lastNames(hasDepartment("Finance")
+                .and(salaryAtLeast(new BigDecimal("60000"))).and(salaryAtMost(new BigDecimal("80000")))));
+    }
+
+    @Test
+    void testDepartmentAndLastNamePrefix() {
+        assertEquals(List.of("Alqahtani"), lastNames(hasDepartment("finance").and(lastNameStartsWith("Al"))));
+    }
+
+    @Test
+    void testAllFilters() {
+        assertEquals(List.of("Alharbi"), lastNames(hasDepartment("HR").and(lastNameStartsWith("Al"))
+                .and(salaryAtLeast(new BigDecimal("50000"))).and(salaryAtMost(new BigDecimal("70000")))));
+    }
+
+    @Test
+    void testSlice_RunsNoCountQuery() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Slice<Employee> first = employeeRepository.findSlice(lastNameStartsWith("Al"), PageRequest.of(0, 2, Sort.by("lastName")));
+        Slice<Employee> last = employeeRepository.findSlice(lastNameStartsWith("Al"), PageRequest.of(1, 2, Sort.by("lastName")));
+
+        assertEquals(List.of("Aldawsari", "Alharbi"), first.map(Employee::getLastName).getContent());
+        assertEquals(2, first.getNumberOfElements());
+        assertTrue(first.hasNext());
+        assertEquals(1, last.getNumberOfElements());
+        assertFalse(last.hasNext());
+        assertEquals(2, statistics.getQueryExecutionCount());
+    }
+
+    private List<String> lastNames(Specification<Employee> filter) {
+        return employeeRepository.findAll(filter, Sort.by("lastName")).stream().map(Employee::getLastName).toList();
+    }
+
+    private static Employee employee(String firstName, String lastName, String department, String salary) {
+        return new Employee(null, firstName, lastName, firstName.toLowerCase() + "@example.com", department,
+                new BigDecimal(salary));
+    }
+}
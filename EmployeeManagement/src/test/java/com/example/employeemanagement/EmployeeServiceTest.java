@@ -1,20 +1,40 @@
 package com.example.employeemanagement;
 
 import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.DTO.VersionedEmployeesDTO;
 import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeEmailRepository;
 import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.Service.EmailService;
 import com.example.employeemanagement.Service.EmployeeService;
+import com.example.employeemanagement.cache.EmployeeCache;
+import com.example.employeemanagement.cache.EmployeeCollectionVersion;
+import com.example.employeemanagement.exception.EmployeeConflictException;
 import com.example.employeemanagement.exception.EmployeeNotFoundException;
 import com.example.employeemanagement.exception.InvalidInputException;
+import com.example.employeemanagement.sharding.EmailDirectory;
+import com.example.employeemanagement.sharding.ShardRouter;
+import com.example.employeemanagement.validation.DepartmentValidator;
+import com.example.employeemanagement.validation.EmailValidator;
+import com.example.employeemanagement.validation.EmployeeValidator;
+import com.example.employeemanagement.validation.ValidationPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestClient;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -32,6 +52,37 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmployeeCollectionVersion employeeCollectionVersion;
+
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(new NoOpCacheManager(), List.of());
+
+    // no sharding, work runs directly against the repository mocks
+    @Spy
+    private ShardRouter shardRouter = ShardRouter.single(mock(PlatformTransactionManager.class));
+
+    // inactive with a single shard
+    @Spy
+    private EmailDirectory emailDirectory = new EmailDirectory(mock(EmployeeEmailRepository.class),
+            mock(EmployeeRepository.class), shardRouter, Duration.ofMinutes(1));
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // the real checks without a remote service, run on the calling thread
+    @Spy
+    private ValidationPipeline validationPipeline = new ValidationPipeline(
+            List.of(new EmailValidator(RestClient.builder(), "", Duration.ofSeconds(1), Duration.ofHours(1), 1000),
+                    new DepartmentValidator(RestClient.builder(), "", Duration.ofSeconds(1), Duration.ofMinutes(10))),
+            Runnable::run, meterRegistry, 5, Duration.ofSeconds(30));
+
     private Employee employee;
 
     @BeforeEach
@@ -46,6 +97,25 @@ public class EmployeeServiceTest {
 
         employeeService.createEmployee(employee);
 
+        verify(employeeRepository, times(1)).save(employee);
+        verify(emailService, times(1)).queueEmail(eq(employee.getEmail()), eq(EmailService.WELCOME_SUBJECT), anyString());
+        assertEquals(1, meterRegistry.get("employee.validation").tag("validator", "email").tag("outcome", "valid").timer().count());
+        assertEquals(1, meterRegistry.get("employee.validation").tag("validator", "department").tag("outcome", "valid").timer().count());
+    }
+
+    @Test
+    void testCreateEmployee_IgnoresIdAndVersionFromTheRequest() {
+        // with an id and a version save() would merge over the existing employee with that id
+        employee.setVersion(3L);
+        when(employeeRepository.save(any())).thenAnswer(invocation -> {
+            Employee saved = invocation.getArgument(0);
+            assertNull(saved.getId());
+            assertNull(saved.getVersion());
+            return saved;
+        });
+
+        employeeService.createEmployee(employee);
+
         verify(employeeRepository, times(1)).save(employee);
     }
 
@@ -57,23 +127,46 @@ public class EmployeeServiceTest {
         InvalidInputException exception = assertThrows(InvalidInputException.class, () -> {
             employeeService.createEmployee(invalidEmployee);
         });
-        assertEquals("Email or department validation failed", exception.getMessage());
+        assertEquals("Email validation failed", exception.getMessage());
+        verify(employeeRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateEmployee_ValidatesBeforeTheTransactionStarts() {
+        // the remote checks must not hold a connection, they run before the transaction is opened
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        EmployeeValidator validator = mock(EmployeeValidator.class);
+        when(validator.name()).thenReturn("probe");
+        when(validator.timeout()).thenReturn(Duration.ofSeconds(1));
+        when(validator.isValid(employee)).thenReturn(true);
+        EmployeeService service = new EmployeeService(employeeRepository, emailService, null, eventPublisher,
+                new ValidationPipeline(List.of(validator), Runnable::run, meterRegistry, 5, Duration.ofSeconds(30)),
+                employeeCache, ShardRouter.single(transactionManager), employeeCollectionVersion, emailDirectory);
+
+        service.createEmployee(employee);
+
+        InOrder order = inOrder(validator, transactionManager, employeeRepository);
+        order.verify(validator).isValid(employee);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(employeeRepository).save(employee);
     }
 
     @Test
     void testGetEmployeeById_Success() {
-        when(employeeRepository.findEmployeeById(employee.getId())).thenReturn(employee);
+        when(employeeRepository.findDTOById(employee.getId())).thenReturn(new EmployeeDTO(employee.getId(),
+                employee.getFirstName(), employee.getLastName(), employee.getEmail(), employee.getDepartment(),
+                employee.getSalary(), 0L));
 
         EmployeeDTO fetchedEmployee = employeeService.getEmployeeById(employee.getId());
 
         assertEquals(employee.getEmail(), fetchedEmployee.getEmail());
         assertEquals("Hadeel", fetchedEmployee.getFirstName());
-        verify(employeeRepository, times(1)).findEmployeeById(employee.getId());
+        verify(employeeRepository, times(1)).findDTOById(employee.getId());
     }
 
     @Test
     void testGetEmployeeById_NotFound() {
-        when(employeeRepository.findEmployeeById(employee.getId())).thenReturn(null);
+        when(employeeRepository.findDTOById(employee.getId())).thenReturn(null);
 
         EmployeeNotFoundException exception = assertThrows(EmployeeNotFoundException.class, () -> {
             employeeService.getEmployeeById(employee.getId());
@@ -84,56 +177,124 @@ public class EmployeeServiceTest {
 
 
 
+    @Test
+    void testGetEmployeeVersion() {
+        when(employeeRepository.findVersionById(employee.getId())).thenReturn(7L);
+
+        assertEquals(7L, employeeService.getEmployeeVersion(employee.getId()));
+        // only the version, the row itself is never loaded
+        verify(employeeRepository, never()).findDTOById(any());
+    }
+
+    @Test
+    void testGetEmployeeVersion_NotFound() {
+        when(employeeRepository.findVersionById(employee.getId())).thenReturn(null);
+
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeeVersion(employee.getId()));
+    }
+
     @Test
     void testUpdateEmployee_Success() {
         Employee updatedEmployee = new Employee(employee.getId(), "UpdatedFirst", "UpdatedLast", "Updated@example.com", "Finance", new BigDecimal("60000.00"));
-        when(employeeRepository.findEmployeeById(employee.getId())).thenReturn(employee);
-        when(employeeRepository.save(updatedEmployee)).thenReturn(updatedEmployee);
+        when(employeeRepository.updateById(employee.getId(), "UpdatedFirst", "UpdatedLast", "Updated@example.com", "Finance", new BigDecimal("60000.00"))).thenReturn(1);
+        when(employeeRepository.findVersionById(employee.getId())).thenReturn(5L);
 
         Employee result = employeeService.updateEmployee(employee.getId(), updatedEmployee);
 
+        // without a version the update always applies, the version it produced is read back
+        assertEquals(5L, result.getVersion());
         assertEquals("UpdatedFirst", result.getFirstName());
         assertEquals("UpdatedLast", result.getLastName());
         assertEquals("Updated@example.com", result.getEmail());
         assertEquals("Finance", result.getDepartment());
         assertEquals(new BigDecimal("60000.00"), result.getSalary());
+        // a single UPDATE, nothing is read first
+        verify(employeeRepository, never()).findDTOById(any());
+        verify(employeeRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateEmployee_WithVersion() {
+        Employee updatedEmployee = new Employee(employee.getId(), "UpdatedFirst", "UpdatedLast", "Updated@example.com", "Finance", new BigDecimal("60000.00"), 3L);
+        when(employeeRepository.updateByIdAndVersion(employee.getId(), 3L, "UpdatedFirst", "UpdatedLast", "Updated@example.com", "Finance", new BigDecimal("60000.00"))).thenReturn(1);
+
+        Employee result = employeeService.updateEmployee(employee.getId(), updatedEmployee);
+
+        assertEquals(4L, result.getVersion());
     }
 
     @Test
     void testUpdateEmployee_NotFound() {
         // Create a new employee with updated data
         Employee updatedEmployee = new Employee(employee.getId(), "UpdatedFirst", "UpdatedLast", "Updated@example.com", "Finance", new BigDecimal("60000.00"));
-        // Mock (employee not found) & expect an exception to be thrown
-        when(employeeRepository.findEmployeeById(employee.getId())).thenReturn(null);
+        // Mock (no row updated) & expect an exception to be thrown
+        when(employeeRepository.updateById(any(), any(), any(), any(), any(), any())).thenReturn(0);
 
         EmployeeNotFoundException exception = assertThrows(EmployeeNotFoundException.class, () -> {
             employeeService.updateEmployee(employee.getId(), updatedEmployee);
         });
 
         assertEquals("Employee not found", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateEmployee_StaleVersion() {
+        Employee updatedEmployee = new Employee(employee.getId(), "UpdatedFirst", "UpdatedLast", "Updated@example.com", "Finance", new BigDecimal("60000.00"), 3L);
+        when(employeeRepository.updateByIdAndVersion(any(), anyLong(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(employeeRepository.existsById(employee.getId())).thenReturn(true);
+
+        assertThrows(EmployeeConflictException.class, () -> {
+            employeeService.updateEmployee(employee.getId(), updatedEmployee);
+        });
     }
 
     @Test
     void testDeleteEmployee_Success() {
-        when(employeeRepository.findEmployeeById(employee.getId())).thenReturn(employee);
-        employeeService.deleteEmployee(employee.getId());
+        when(employeeRepository.deleteEmployeeById(employee.getId())).thenReturn(1);
+        employeeService.deleteEmployee(employee.getId(), null);
 
-        verify(employeeRepository, times(1)).delete(employee);
+        verify(employeeRepository, times(1)).deleteEmployeeById(employee.getId());
+        verify(employeeRepository, never()).findDTOById(any());
+    }
+
+    @Test
+    void testDeleteEmployee_NotFound() {
+        when(employeeRepository.deleteEmployeeById(employee.getId())).thenReturn(0);
+
+        assertThrows(EmployeeNotFoundException.class, () -> {
+            employeeService.deleteEmployee(employee.getId(), null);
+        });
     }
 
 
     @Test
     void testGetAllEmployees() {
         // Create a list of employees
-        List<Employee> employeeList = List.of(employee, new Employee(UUID.randomUUID(), "Ali", "mohammed", "Ali@gmai.com", "Operation", new BigDecimal("55000.00")));
-        when(employeeRepository.findAll()).thenReturn(employeeList);
+        List<EmployeeDTO> employeeList = List.of(
+                new EmployeeDTO(employee.getId(), "Hadeel", "Aldawsari", employee.getEmail(), "HR", new BigDecimal("50000.00"), 0L),
+                new EmployeeDTO(UUID.randomUUID(), "Ali", "mohammed", "Ali@gmai.com", "Operation", new BigDecimal("55000.00"), 0L));
+        when(employeeRepository.findAllDTOs()).thenReturn(employeeList);
 
         List<EmployeeDTO> employees = employeeService.getAllEmployees();
 
         // Assert that the list contains the correct number of employees
         //I added the old employee (Hadeel) and the new is (Ali)
         assertEquals(2, employees.size());
-        verify(employeeRepository, times(1)).findAll();
+        verify(employeeRepository, times(1)).findAllDTOs();
+    }
+
+    @Test
+    void testGetAllEmployeesWithVersion_VersionIsReadBeforeTheRows() {
+        when(employeeCollectionVersion.read()).thenReturn("epoch-3");
+        when(employeeRepository.findAllDTOs()).thenReturn(List.of());
+
+        VersionedEmployeesDTO employees = employeeService.getAllEmployeesWithVersion();
+
+        assertEquals("epoch-3", employees.getVersion());
+        InOrder order = inOrder(employeeCollectionVersion, employeeRepository);
+        order.verify(employeeCollectionVersion).read();
+        order.verify(employeeRepository).findAllDTOs();
     }
 
 }
@@ -0,0 +1,110 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.Service.EmailService;
+import com.example.employeemanagement.Service.EmployeeService;
+import com.example.employeemanagement.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class EmployeeStreamingTest {
+
+    @InjectMocks
+    private EmployeeService employeeService;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    // stub only: a mock that records its calls would keep every detached row reachable
+    @Mock(stubOnly = true)
+    private EntityManager entityManager;
+
+    // no sharding, work runs directly against the repository mocks
+    @Spy
+    private ShardRouter shardRouter = ShardRouter.single(mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testStreamAllEmployees_HeapStaysFlat() {
+        long smallRun = 20_000;
+        long largeRun = 400_000;
+
+        long smallGrowth = heapGrowthWhileStreaming(smallRun);
+        long largeGrowth = heapGrowthWhileStreaming(largeRun);
+
+        // 20x more rows must not cost 20x more heap, a list-based copy would retain every row
+        long allowedSlack = 16L * 1024 * 1024;
+        assertTrue(largeGrowth < smallGrowth + allowedSlack,
+                "heap grew by " + largeGrowth + " bytes for " + largeRun + " rows vs "
+                        + smallGrowth + " bytes for " + smallRun + " rows");
+    }
+
+    @Test
+    void testStreamAllEmployees_DetachesEveryRow() {
+        when(employeeRepository.streamAll()).thenReturn(employees(3));
+        AtomicLong detached = new AtomicLong();
+        doAnswer(invocation -> detached.incrementAndGet()).when(entityManager).detach(any(Employee.class));
+        AtomicLong count = new AtomicLong();
+
+        employeeService.streamAllEmployees(employee -> count.incrementAndGet());
+
+        assertEquals(3, count.get());
+        assertEquals(3, detached.get());
+    }
+
+    // Streams the given number of rows and samples used heap at the end of the run
+    private long heapGrowthWhileStreaming(long rows) {
+        when(employeeRepository.streamAll()).thenReturn(employees(rows));
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        long before = usedHeapAfterGc(memory);
+        long[] atEnd = new long[1];
+        AtomicLong seen = new AtomicLong();
+
+        employeeService.streamAllEmployees(employee -> {
+            if (seen.incrementAndGet() == rows) {
+                atEnd[0] = usedHeapAfterGc(memory);
+            }
+        });
+
+        assertEquals(rows, seen.get());
+        return Math.max(0, atEnd[0] - before);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    // Lazily generated rows, like a JDBC cursor behind a repository Stream
+    private static Stream<Employee> employees(long rows) {
+        return LongStream.range(0, rows).mapToObj(i -> new Employee(UUID.randomUUID(), "First", "Last",
+                "employee" + i + "@example.com", "HR", new BigDecimal("50000.00")));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.DTO.BulkCreateResultDTO;
+import com.example.employeemanagement.DTO.BulkRowErrorDTO;
+import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Service.EmployeeBulkService;
+import com.example.employeemanagement.Service.EmployeeService;
+import com.example.employeemanagement.Service.EmployeeTransferService;
+import com.example.employeemanagement.Service.EmployeeTransferService.Format;
+import com.example.employeemanagement.exception.InvalidInputException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class EmployeeTransferServiceTest {
+
+    private EmployeeService employeeService;
+    private EmployeeBulkService employeeBulkService;
+    private EmployeeTransferService transferService;
+
+    // what the bulk service received, with the line number of every employee
+    private final List<Employee> imported = new ArrayList<>();
+    private final List<Integer> importedLines = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        employeeService = mock(EmployeeService.class);
+        employeeBulkService = mock(EmployeeBulkService.class);
+        // tiny buffers and chunks so every test crosses buffer and chunk boundaries
+        transferService = new EmployeeTransferService(employeeService, employeeBulkService, new ObjectMapper(), 16, 2, 3);
+
+        doAnswer(invocation -> {
+            List<Employee> employees = invocation.getArgument(0);
+            List<Integer> lines = invocation.getArgument(1);
+            BulkCreateResultDTO result = invocation.getArgument(3);
+            imported.addAll(employees);
+            importedLines.addAll(lines);
+            result.setReceived(result.getReceived() + employees.size());
+            result.setCreated(result.getCreated() + employees.size());
+            return null;
+        }).when(employeeBulkService).createEmployees(anyList(), anyList(), eq(false), any());
+    }
+
+    @Test
+    void testCsv_RoundTrip() throws IOException {
+        stubEmployees(
+                new EmployeeDTO(UUID.randomUUID(), "Hadeel", "Aldawsari", "hadeel@example.com", "HR", new BigDecimal("50000.00"), 0L),
+                new EmployeeDTO(UUID.randomUUID(), "Sara", "Ali", "sara@example.com", "Research, \"Labs\"", new BigDecimal("61000.50"), 3L),
+                new EmployeeDTO(UUID.randomUUID(), "Émile", "Zola", "emile@example.com", "Finance", new BigDecimal("70000"), 1L));
+
+        byte[] csv = export(Format.CSV);
+        BulkCreateResultDTO result = transferService.importEmployees(Format.CSV, channel(csv));
+
+        assertTrue(new String(csv, StandardCharsets.UTF_8).startsWith("id,firstName,lastName,email,department,salary,version\n"));
+        assertEquals(3, result.getCreated());
+        assertEquals(List.of(2, 3, 4), importedLines);
+        assertEquals("Research, \"Labs\"", imported.get(1).getDepartment());
+        assertEquals(new BigDecimal("61000.50"), imported.get(1).getSalary());
+        assertEquals("Émile", imported.get(2).getFirstName());
+    }
+
+    @Test
+    void testNdjson_RoundTrip() throws IOException {
+        stubEmployees(
+                new EmployeeDTO(UUID.randomUUID(), "Hadeel", "Aldawsari", "hadeel@example.com", "HR", new BigDecimal("50000.00"), 0L),
+                new EmployeeDTO(UUID.randomUUID(), "Sara", "Ali", "sara@example.com", "Finance", new BigDecimal("61000.50"), 3L));
+
+        BulkCreateResultDTO result = transferService.importEmployees(Format.NDJSON, channel(export(Format.NDJSON)));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(1, 2), importedLines);
+        assertEquals("sara@example.com", imported.get(1).getEmail());
+    }
+
+    @Test
+    void testCsvImport_ReportsBadLinesAndMapsColumnsByName() throws IOException {
+        String csv = "Email,firstName,lastName,department,salary\r\n"
+                + "a@example.com,Hadeel,Aldawsari,HR,50000\r\n"
+                + "b@example.com,Sara,Ali,HR,lots\r\n"
+                + "c@example.com,Sara\r\n"
+                + "\r\n"
+                + "d@example.com,Omar,Saleh,Finance,40000\r\n";
+
+        BulkCreateResultDTO result = transferService.importEmployees(Format.CSV, channel(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(2, 6), importedLines);
+        assertEquals("a@example.com", imported.get(0).getEmail());
+        assertEquals(List.of(3, 4), result.getErrors().stream().map(BulkRowErrorDTO::getRow).toList());
+    }
+
+    @Test
+    void testCsvImport_MissingColumnIsRejected() {
+        byte[] csv = "firstName,lastName,email\nHadeel,Aldawsari,a@example.com\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(InvalidInputException.class, () -> transferService.importEmployees(Format.CSV, channel(csv)));
+        verifyNoInteractions(employeeBulkService);
+    }
+
+    @Test
+    void testCsvImport_UnterminatedQuoteIsInvalidInput() {
+        byte[] csv = "firstName,lastName,email,department,salary\nHadeel,\"Aldawsari,a@example.com,HR,50000\n"
+                .getBytes(StandardCharsets.UTF_8);
+
+        InvalidInputException e = assertThrows(InvalidInputException.class,
+                () -> transferService.importEmployees(Format.CSV, channel(csv)));
+        assertEquals("Unterminated quoted field starting on line 2", e.getMessage());
+    }
+
+    @Test
+    void testNdjsonImport_ReportedErrorsAreCapped() throws IOException {
+        String ndjson = "{oops\n".repeat(10);
+
+        BulkCreateResultDTO result = transferService.importEmployees(Format.NDJSON, channel(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(10, result.getReceived());
+        assertEquals(0, result.getCreated());
+        assertEquals(3, result.getErrors().size());
+    }
+
+    private void stubEmployees(EmployeeDTO... employees) {
+        doAnswer(invocation -> {
+            Consumer<EmployeeDTO> consumer = invocation.getArgument(0);
+            for (EmployeeDTO employee : employees) {
+                consumer.accept(employee);
+            }
+            return null;
+        }).when(employeeService).streamAllEmployees(any());
+    }
+
+    private byte[] export(Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transferService.exportEmployees(format, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private static ReadableByteChannel channel(byte[] data) {
+        return Channels.newChannel(new ByteArrayInputStream(data));
+    }
+}
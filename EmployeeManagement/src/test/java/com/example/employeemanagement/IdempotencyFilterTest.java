@@ -0,0 +1,225 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.idempotency.IdempotencyFilter;
+import com.example.employeemanagement.idempotency.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyFilterTest {
+
+    private IdempotencyFilter filter;
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile int status = 201;
+
+    // Stands in for the controller: echoes the body and counts how often it ran
+    private final FilterChain chain = (request, response) -> {
+        int call = calls.incrementAndGet();
+        byte[] body = request.getInputStream().readAllBytes();
+        ((HttpServletResponse) response).setStatus(status);
+        response.setContentType("application/json");
+        response.getOutputStream().write(("{\"call\":" + call + ",\"body\":" + new String(body, StandardCharsets.UTF_8) + "}")
+                .getBytes(StandardCharsets.UTF_8));
+    };
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(new IdempotencyStore(Duration.ofMinutes(1), 100), new ObjectMapper(),
+                new SimpleMeterRegistry(), Duration.ofSeconds(5), 1024);
+    }
+
+    @Test
+    void testRetry_ReplaysTheFirstResponse() throws Exception {
+        MockHttpServletResponse first = send("key-1", "{\"a\":1}");
+        MockHttpServletResponse retry = send("key-1", "{\"a\":1}");
+
+        assertEquals(1, calls.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("{\"call\":1,\"body\":{\"a\":1}}", retry.getContentAsString());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testDifferentKeysAndNoKey_RunEveryTime() throws Exception {
+        send("key-1", "{}");
+        send("key-2", "{}");
+        send(null, "{}");
+        send(null, "{}");
+
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void testSameKeyDifferentBody_Is422() throws Exception {
+        send("key-1", "{\"a\":1}");
+        MockHttpServletResponse reused = send("key-1", "{\"a\":2}");
+
+        assertEquals(422, reused.getStatus());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testServerError_IsNotKept() throws Exception {
+        status = 503;
+        send("key-1", "{}");
+        status = 201;
+        MockHttpServletResponse retry = send("key-1", "{}");
+
+        assertEquals(2, calls.get());
+        assertEquals(201, retry.getStatus());
+    }
+
+    @Test
+    void testConcurrentDuplicate_WaitsForTheFirstRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IdempotencyFilter slow = new IdempotencyFilter(new IdempotencyStore(Duration.ofMinutes(1), 100),
+                new ObjectMapper(), new SimpleMeterRegistry(), Duration.ofSeconds(5), 1024);
+        FilterChain blocking = (request, response) -> {
+            started.countDown();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            chain.doFilter(request, response);
+        };
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> send(slow, blocking, "key-1"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(() -> send(slow, blocking, "key-1"));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+
+        release.countDown();
+        assertEquals(first.get(5, TimeUnit.SECONDS).getContentAsString(),
+                duplicate.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testSameKeyFromAnotherClient_RunsAgain() throws Exception {
+        send("key-1", "{}");
+        MockHttpServletRequest other = new MockHttpServletRequest("POST", "/api/v1/employee/create");
+        other.setRemoteAddr("10.0.0.2");
+        other.addHeader(IdempotencyFilter.HEADER, "key-1");
+        other.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(other, response, chain);
+
+        assertEquals(2, calls.get());
+        assertNull(response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testFirstRequestFails_OnlyOneWaitingDuplicateRunsIt() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        IdempotencyFilter failing = new IdempotencyFilter(new IdempotencyStore(Duration.ofMinutes(1), 100),
+                new ObjectMapper(), new SimpleMeterRegistry(), Duration.ofSeconds(5), 1024);
+        FilterChain failsFirst = (request, response) -> {
+            if (attempts.incrementAndGet() > 1) {
+                chain.doFilter(request, response);
+                return;
+            }
+            started.countDown();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            throw new IllegalStateException("connection reset");
+        };
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> send(failing, failsFirst, "key-1"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MockHttpServletResponse> second = CompletableFuture.supplyAsync(() -> send(failing, failsFirst, "key-1"));
+        CompletableFuture<MockHttpServletResponse> third = CompletableFuture.supplyAsync(() -> send(failing, failsFirst, "key-1"));
+        Thread.sleep(100);
+
+        release.countDown();
+        assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertEquals(second.get(5, TimeUnit.SECONDS).getContentAsString(), third.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testReadListener_GetsTheWholeBody() throws Exception {
+        StringBuilder read = new StringBuilder();
+        AtomicInteger allRead = new AtomicInteger();
+        FilterChain nonBlocking = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        read.append((char) in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+            ((HttpServletResponse) response).setStatus(201);
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/employee/create");
+        request.addHeader(IdempotencyFilter.HEADER, "key-1");
+        request.setContent("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(request, new MockHttpServletResponse(), nonBlocking);
+
+        assertEquals("{\"a\":1}", read.toString());
+        assertEquals(1, allRead.get());
+    }
+
+    private MockHttpServletResponse send(String key, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/employee/create");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletResponse send(IdempotencyFilter filter, FilterChain chain, String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/employee/create");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
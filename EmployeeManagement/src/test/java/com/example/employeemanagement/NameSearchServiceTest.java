@@ -0,0 +1,79 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.Service.NameSearchService;
+import com.example.employeemanagement.event.EmployeeChangedEvent;
+import com.example.employeemanagement.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class NameSearchServiceTest {
+
+    private EmployeeRepository employeeRepository;
+    private NameSearchService nameSearchService;
+    private Employee hadeel;
+    private Employee khalid;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        nameSearchService = new NameSearchService(employeeRepository, mock(EntityManager.class),
+                ShardRouter.single(mock(PlatformTransactionManager.class)), 0.5, false);
+        hadeel = employee("Hadeel", "Aldawsari");
+        khalid = employee("Khalid", "Alotaibi");
+    }
+
+    @Test
+    void testRebuild_SearchesSeeTheOldIndexUntilTheNewOneIsComplete() {
+        nameSearchService.onEmployeeChanged(EmployeeChangedEvent.created(hadeel));
+        when(employeeRepository.streamAll()).thenAnswer(invocation -> Stream.of(khalid).peek(employee ->
+                assertEquals(1, nameSearchService.typeahead("Hadeel", 10).size())));
+
+        nameSearchService.rebuild();
+
+        assertTrue(nameSearchService.typeahead("Hadeel", 10).isEmpty());
+        assertEquals(khalid.getId(), nameSearchService.typeahead("Khalid", 10).get(0).getId());
+    }
+
+    @Test
+    void testRebuild_DeleteCommittedDuringLoadIsNotBroughtBack() {
+        // the load reads Hadeel, then the delete commits before the load finishes
+        when(employeeRepository.streamAll()).thenAnswer(invocation -> Stream.of(hadeel, khalid).peek(employee -> {
+            if (employee == khalid) {
+                nameSearchService.onEmployeeChanged(EmployeeChangedEvent.deleted(hadeel.getId()));
+            }
+        }));
+
+        nameSearchService.rebuild();
+
+        assertTrue(nameSearchService.typeahead("Hadeel", 10).isEmpty());
+        assertEquals(1, nameSearchService.typeahead("Khalid", 10).size());
+    }
+
+    @Test
+    void testRebuild_CreateCommittedDuringLoadIsKept() {
+        Employee sara = employee("Sara", "Alqahtani");
+        when(employeeRepository.streamAll()).thenAnswer(invocation -> Stream.of(hadeel).peek(employee ->
+                nameSearchService.onEmployeeChanged(EmployeeChangedEvent.created(sara))));
+
+        nameSearchService.rebuild();
+
+        assertEquals(sara.getId(), nameSearchService.typeahead("Alqahtani", 10).get(0).getId());
+        assertEquals(hadeel.getId(), nameSearchService.typeahead("Aldawsari", 10).get(0).getId());
+    }
+
+    private static Employee employee(String firstName, String lastName) {
+        return new Employee(UUID.randomUUID(), firstName, lastName, firstName.toLowerCase() + "@example.com", "HR",
+                new BigDecimal("50000.00"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.DTO.NameMatchDTO;
+import com.example.employeemanagement.search.NameTrigramIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameTrigramIndexTest {
+
+    private NameTrigramIndex index;
+    private UUID hadeel;
+    private UUID khalid;
+
+    @BeforeEach
+    void setUp() {
+        index = new NameTrigramIndex();
+        hadeel = UUID.randomUUID();
+        khalid = UUID.randomUUID();
+        index.put(hadeel, "Hadeel", "Aldawsari");
+        index.put(khalid, "Khalid", "Alotaibi");
+        index.put(UUID.randomUUID(), "Sara", "Alqahtani");
+    }
+
+    @Test
+    void testSearch_FindsPartialName() {
+        List<NameMatchDTO> matches = index.search("hade", 10, 0.5);
+
+        assertEquals(hadeel, matches.get(0).getId());
+        assertEquals(1.0, matches.get(0).getScore());
+    }
+
+    @Test
+    void testSearch_ToleratesMisspelling() {
+        List<NameMatchDTO> matches = index.search("Aldawsary", 10, 0.5);
+
+        assertEquals(1, matches.size());
+        assertEquals("Hadeel", matches.get(0).getFirstName());
+    }
+
+    @Test
+    void testSearch_RanksBestMatchFirstAndRespectsLimit() {
+        List<NameMatchDTO> matches = index.search("al", 2, 0.0);
+
+        assertEquals(2, matches.size());
+        assertTrue(matches.get(0).getScore() >= matches.get(1).getScore());
+        assertTrue(index.search("zzzz", 10, 0.5).isEmpty());
+    }
+
+    @Test
+    void testPut_ReplacesPreviousName() {
+        index.put(khalid, "Khalid", "Alharbi");
+
+        assertTrue(index.search("Alotaibi", 10, 0.8).isEmpty());
+        assertEquals(khalid, index.search("Alharbi", 10, 0.8).get(0).getId());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testRemove_DropsName() {
+        index.remove(hadeel);
+        index.remove(hadeel);
+
+        assertTrue(index.search("Hadeel", 10, 0.5).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testSearch_NonLatinNamesDoNotCollideWithLatin() {
+        // U+0461 shares its low 10 bits with 'a'
+        UUID omega = UUID.randomUUID();
+        index.put(omega, "\u0461\u0461\u0461\u0461", "\u0461\u0461\u0461");
+        UUID arabic = UUID.randomUUID();
+        index.put(arabic, "\u0647\u062F\u064A\u0644", "\u0627\u0644\u062F\u0648\u0633\u0631\u064A");
+
+        assertTrue(index.search("aaaa", 10, 0.5).isEmpty());
+        assertEquals(omega, index.search("\u0461\u0461\u0461\u0461", 10, 0.5).get(0).getId());
+        assertEquals(arabic, index.search("\u0647\u062F\u064A", 10, 0.5).get(0).getId());
+    }
+
+    @Test
+    void testRemove_ManyIdsKeepsTheOthersFindable() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            index.put(id, "Name" + Integer.toString(i, 36), "Person");
+        }
+        for (int i = 0; i < ids.size(); i += 2) {
+            index.remove(ids.get(i));
+        }
+
+        assertEquals(3 + 2_500, index.size());
+        for (int i = 1; i < ids.size(); i += 500) {
+            String name = "Name" + Integer.toString(i, 36);
+            assertEquals(ids.get(i), index.search(name + " Person", 1, 0.9).get(0).getId());
+        }
+        assertEquals(hadeel, index.search("Hadeel", 1, 0.5).get(0).getId());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.Service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A database ddl-auto=update created before the migrations: it is baselined at V0, the migrations
+// bring it up to date and the context only starts when ddl-auto=validate accepts the result
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pre-series;DB_CLOSE_DELAY=-1;INIT=runscript from 'classpath:db/pre-series-h2.sql'",
+        "employee.admission.enabled=false",
+        "employee.email.outbox.poll-interval=1h"})
+class PreSeriesSchemaMigrationTest {
+    private static final UUID LEGACY_ID = UUID.fromString("0b5e3b8e-7d2a-4c1e-9f3a-2d6c1b7e4a10");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    void testBaselinedAtZero_AndMigratedFromV1() {
+        List<String> versions = jdbcTemplate.queryForList("select \"type\" || ':' || \"version\" from \"flyway_schema_history\""
+                + " where \"success\" and \"version\" is not null order by \"installed_rank\"", String.class);
+        assertEquals(List.of("BASELINE:0", "SQL:1"), versions.subList(0, 2));
+    }
+
+    @Test
+    void testExistingEmployee_GetsVersionZero() {
+        EmployeeDTO employee = employeeService.getEmployeeById(LEGACY_ID);
+
+        assertEquals("hadeel.legacy@example.com", employee.getEmail());
+        assertEquals(0L, employee.getVersion());
+    }
+}
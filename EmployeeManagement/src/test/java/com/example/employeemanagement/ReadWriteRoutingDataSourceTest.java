@@ -0,0 +1,115 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.datasource.ReadWriteRoutingDataSource;
+import com.example.employeemanagement.datasource.ReadYourWrites;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Separate in-memory H2 databases stand in for the primary and two replicas,
+// each one only knows its own name so every query tells where it ran
+public class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        List<DataSource> replicas = List.of(database("replica1"), database("replica2"));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicas));
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.unpin();
+    }
+
+    @Test
+    void testReadOnlyTransactions_AlternateBetweenReplicas() {
+        assertEquals(List.of("replica1", "replica2", "replica1"), List.of(readOnly.execute(s -> where()),
+                readOnly.execute(s -> where()), readOnly.execute(s -> where())));
+    }
+
+    @Test
+    void testWritesAndNonTransactionalWork_GoToPrimary() {
+        assertEquals("primary", readWrite.execute(s -> where()));
+        assertEquals("primary", where());
+    }
+
+    @Test
+    void testReadYourWrites_PinsReadsToPrimary() {
+        ReadYourWrites.pin();
+        assertEquals("primary", readOnly.execute(s -> where()));
+
+        ReadYourWrites.unpin();
+        assertNotEquals("primary", readOnly.execute(s -> where()));
+    }
+
+    @Test
+    void testUnavailableReplica_FallsBackToPrimary() {
+        DataSource broken = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(database("primary"), List.of(broken)));
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(true);
+
+        assertEquals("primary", transaction.execute(s -> new JdbcTemplate(dataSource).queryForObject("select name from whoami", String.class)));
+    }
+
+    @Test
+    void testReplicaWithoutSchema_ReadIsRetriedOnPrimary() {
+        // a replica that was never populated, like an empty H2 file
+        DataSource empty = new DriverManagerDataSource("jdbc:h2:mem:empty-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(database("primary"), List.of(empty)));
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(true);
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+
+        assertEquals("primary", ReadWriteRoutingDataSource.withPrimaryFallback(() ->
+                transaction.execute(s -> template.queryForObject("select name from whoami", String.class))));
+        assertFalse(ReadYourWrites.isPinned());
+    }
+
+    @Test
+    void testFailureOnPrimary_IsNotRetried() {
+        int[] attempts = new int[1];
+
+        assertThrows(BadSqlGrammarException.class, () -> ReadWriteRoutingDataSource.withPrimaryFallback(() -> {
+            attempts[0]++;
+            return readWrite.execute(s -> jdbcTemplate.queryForObject("select name from nowhere", String.class));
+        }));
+        assertEquals(1, attempts[0]);
+    }
+
+    private String where() {
+        return jdbcTemplate.queryForObject("select name from whoami", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table whoami (name varchar(20))");
+        jdbcTemplate.update("insert into whoami values (?)", name);
+        return dataSource;
+    }
+}
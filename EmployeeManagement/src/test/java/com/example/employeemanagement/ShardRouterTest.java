@@ -0,0 +1,120 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.exception.ServiceOverloadedException;
+import com.example.employeemanagement.id.TimeOrderedUuidGenerator;
+import com.example.employeemanagement.sharding.ShardRouter;
+import com.example.employeemanagement.sharding.ShardRoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Three in-memory H2 databases stand in for the shards, each one only knows its own name
+public class ShardRouterTest {
+
+    private ShardRouter shardRouter;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(
+                List.of(database("shard0"), database("shard1"), database("shard2"))));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        shardRouter = new ShardRouter(3, Map.of("HR", 2), new DataSourceTransactionManager(dataSource),
+                Executors.newFixedThreadPool(2), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testShardFor_ListedDepartmentsAndHash() {
+        assertEquals(2, shardRouter.shardFor("HR"));
+        assertEquals(2, shardRouter.shardFor(" hr "));
+        assertEquals(shardRouter.shardFor("Finance"), shardRouter.shardFor("FINANCE"));
+        assertEquals(0, ShardRouter.single(new DataSourceTransactionManager(database("single"))).shardFor("Finance"));
+    }
+
+    @Test
+    void testTransactions_RunOnTheGivenShard() {
+        assertEquals("shard1", shardRouter.inTransaction(1, this::where));
+        assertEquals("shard2", shardRouter.inReadOnlyTransaction(2, this::where));
+        assertEquals("shard0", where());
+    }
+
+    @Test
+    void testScatter_ReadsEveryShardInOrder() {
+        assertEquals(List.of("shard0", "shard1", "shard2"),
+                shardRouter.scatter(shard -> shardRouter.inReadOnlyTransaction(shard, this::where)));
+    }
+
+    @Test
+    void testScatter_FailsWhenAShardDoesNotAnswerInTime() {
+        ShardRouter impatient = new ShardRouter(3, Map.of(), new DataSourceTransactionManager(database("unused")),
+                Executors.newFixedThreadPool(2), Duration.ofMillis(100));
+        CountDownLatch stuck = new CountDownLatch(1);
+        try {
+            ServiceOverloadedException e = assertThrows(ServiceOverloadedException.class, () -> impatient.scatter(shard -> {
+                if (shard == 2) {
+                    await(stuck);
+                }
+                return shard;
+            }));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+            assertTrue(e.getMessage().startsWith("Shard 2"));
+        } finally {
+            stuck.countDown();
+        }
+    }
+
+    @Test
+    void testShardHint_OnlyForTimeOrderedIds() {
+        UUID id = ShardRouter.embedShard(new TimeOrderedUuidGenerator().next(), 1);
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(1, shardRouter.shardHint(id));
+        assertEquals(-1, shardRouter.shardHint(UUID.randomUUID()));
+    }
+
+    @Test
+    void testFindFirst_AsksTheOtherShardsWhenTheHintMisses() {
+        UUID hinted = ShardRouter.embedShard(new TimeOrderedUuidGenerator().next(), 0);
+
+        assertEquals("shard1", shardRouter.findFirst(hinted, () -> "shard1".equals(where()) ? where() : null));
+        assertNull(shardRouter.findFirst(hinted, () -> null));
+        assertEquals(2, shardRouter.locate(UUID.randomUUID(), () -> "shard2".equals(where())));
+        assertEquals(-1, shardRouter.locate(UUID.randomUUID(), () -> false));
+    }
+
+    private String where() {
+        return jdbcTemplate.queryForObject("select name from whoami", String.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table whoami (name varchar(20))");
+        jdbcTemplate.update("insert into whoami values (?)", name);
+        return dataSource;
+    }
+}
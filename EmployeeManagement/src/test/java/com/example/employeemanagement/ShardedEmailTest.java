@@ -0,0 +1,112 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.DTO.BulkCreateResultDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Service.EmployeeBulkService;
+import com.example.employeemanagement.Service.EmployeeService;
+import com.example.employeemanagement.exception.InvalidInputException;
+import com.example.employeemanagement.sharding.EmailDirectory;
+import com.example.employeemanagement.sharding.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two in-memory shards, HR on the first and Finance on the second: an email stays unique across
+// both, checked on the one shard that owns the email
+@SpringBootTest(properties = {
+        "employee.sharding.shard-urls=jdbc:h2:mem:email-shard0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:email-shard1;DB_CLOSE_DELAY=-1",
+        "employee.sharding.departments=HR:0,Finance:1",
+        "employee.admission.enabled=false",
+        "employee.email.outbox.poll-interval=1h"})
+class ShardedEmailTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeBulkService employeeBulkService;
+
+    @Autowired
+    private EmailDirectory emailDirectory;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testCreate_EmailUsedOnTheOtherShardIsRejected() {
+        employeeService.createEmployee(employee("hadeel.shard@example.com", "HR"));
+
+        InvalidInputException e = assertThrows(InvalidInputException.class,
+                () -> employeeService.createEmployee(employee("hadeel.shard@example.com", "Finance")));
+        assertEquals("Email already exists", e.getMessage());
+        assertEquals(1, count("hadeel.shard@example.com"));
+    }
+
+    @Test
+    void testUpdate_OldEmailIsFreeAndNewOneTaken() {
+        Employee khalid = employee("khalid.old@example.com", "HR");
+        employeeService.createEmployee(khalid);
+
+        employeeService.updateEmployee(khalid.getId(), employee("khalid.new@example.com", "Finance"));
+
+        employeeService.createEmployee(employee("khalid.old@example.com", "Finance"));
+        assertThrows(InvalidInputException.class,
+                () -> employeeService.createEmployee(employee("khalid.new@example.com", "HR")));
+    }
+
+    @Test
+    void testDelete_FreesTheEmail() {
+        Employee sara = employee("sara.shard@example.com", "Finance");
+        employeeService.createEmployee(sara);
+
+        employeeService.deleteEmployee(sara.getId(), null);
+
+        employeeService.createEmployee(employee("sara.shard@example.com", "HR"));
+        assertEquals(1, count("sara.shard@example.com"));
+    }
+
+    @Test
+    void testStaleClaimIsTakenOver() {
+        // left behind by a writer that died before inserting the employee
+        String email = "noura.shard@example.com";
+        shardRouter.withShard(emailDirectory.ownerOf(email), () -> jdbcTemplate.update(
+                "insert into employee_email (email, claimed_at) values (?, 0)", email));
+
+        employeeService.createEmployee(employee(email, "Finance"));
+
+        assertEquals(1, count(email));
+    }
+
+    @Test
+    void testBulk_RejectsEmailsUsedOnAnyShard() {
+        employeeService.createEmployee(employee("ali.shard@example.com", "Finance"));
+
+        BulkCreateResultDTO result = employeeBulkService.createEmployees(List.of(
+                employee("ali.shard@example.com", "HR"),
+                employee("omar.shard@example.com", "HR"),
+                employee("reem.shard@example.com", "Finance")));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getErrors().size());
+        assertEquals("Email already exists", result.getErrors().get(0).getMessage());
+    }
+
+    private int count(String email) {
+        return shardRouter.scatter(shard -> shardRouter.withShard(shard, () -> jdbcTemplate.queryForObject(
+                "select count(*) from employee where email = ?", Integer.class, email)))
+                .stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static Employee employee(String email, String department) {
+        return new Employee(null, "Hadeel", "Aldawsari", email, department, new BigDecimal("50000.00"));
+    }
+}
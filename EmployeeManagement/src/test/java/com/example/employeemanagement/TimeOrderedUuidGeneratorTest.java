@@ -0,0 +1,61 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.id.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void testNext_IsVersion7WithTimestamp() {
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(() -> 1_700_000_000_123L);
+
+        UUID id = generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(1_700_000_000_123L, TimeOrderedUuidGenerator.timestamp(id));
+    }
+
+    @Test
+    void testNext_IncreasesWithinOneMillisecondAndWhenTheClockStepsBack() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(clock::get);
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock.addAndGet(-1_000);
+            }
+            ids.add(generator.next());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, "id " + i + " is not after id " + (i - 1));
+        }
+    }
+
+    @Test
+    void testNext_UniqueAcrossThreads() {
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 200_000).parallel().forEach(i -> ids.add(generator.next()));
+
+        assertEquals(200_000, ids.size());
+    }
+
+    @Test
+    void testTimestamp_RejectsRandomIds() {
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedUuidGenerator.timestamp(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.employeemanagement;
+
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.exception.InvalidInputException;
+import com.example.employeemanagement.exception.ValidationUnavailableException;
+import com.example.employeemanagement.validation.DepartmentValidator;
+import com.example.employeemanagement.validation.EmailValidator;
+import com.example.employeemanagement.validation.EmployeeValidator;
+import com.example.employeemanagement.validation.ValidationPipeline;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the pipeline against a local stub of the email and department services
+public class ValidationPipelineTest {
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final AtomicInteger emailCalls = new AtomicInteger();
+    private final AtomicInteger departmentCalls = new AtomicInteger();
+    private volatile long emailDelayMillis;
+    private volatile int emailStatus = 200;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/email", exchange -> {
+            emailCalls.incrementAndGet();
+            String query = exchange.getRequestURI().getQuery();
+            boolean valid = !query.contains("blocked");
+            respond(exchange, emailDelayMillis, emailStatus, "{\"valid\": " + valid + "}");
+        });
+        server.createContext("/departments", exchange -> {
+            departmentCalls.incrementAndGet();
+            respond(exchange, 0, 200, "[\"HR\", \"Finance\", \"Legal\"]");
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        executor = Executors.newFixedThreadPool(4);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testValidate_AcceptsAndRejects() {
+        ValidationPipeline pipeline = pipeline(Duration.ofSeconds(2), 5);
+
+        pipeline.validate(employee("hadeel@example.com", "Legal"));
+
+        InvalidInputException email = assertThrows(InvalidInputException.class,
+                () -> pipeline.validate(employee("blocked@example.com", "HR")));
+        assertEquals("Email validation failed", email.getMessage());
+        InvalidInputException department = assertThrows(InvalidInputException.class,
+                () -> pipeline.validate(employee("sara@example.com", "Operation")));
+        assertEquals("Department validation failed", department.getMessage());
+    }
+
+    @Test
+    void testValidate_ChecksRunConcurrently() {
+        // each check only passes once both are in flight, one after the other the first one times out
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        ValidationPipeline pipeline = new ValidationPipeline(
+                List.of(rendezvous("first", bothStarted), rendezvous("second", bothStarted)),
+                executor, meterRegistry, 5, Duration.ofMinutes(1));
+
+        pipeline.validate(employee("hadeel@example.com", "HR"));
+
+        assertEquals(0, bothStarted.getCount());
+    }
+
+    @Test
+    void testCheckAll_StartsEveryCheckOfAWindowBeforeWaiting() {
+        // 8 employees x 2 checks, every check waits until all 16 are in flight
+        CountDownLatch allStarted = new CountDownLatch(16);
+        ExecutorService wide = Executors.newCachedThreadPool();
+        try {
+            ValidationPipeline pipeline = new ValidationPipeline(
+                    List.of(rendezvous("first", allStarted), rendezvous("second", allStarted)),
+                    wide, meterRegistry, 5, Duration.ofMinutes(1));
+            List<Employee> employees = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                employees.add(employee("user" + i + "@example.com", "HR"));
+            }
+
+            List<String> errors = pipeline.checkAll(employees);
+
+            assertEquals(8, errors.size());
+            errors.forEach(Assertions::assertNull);
+        } finally {
+            wide.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCheckAll_ReportsEachEmployee() {
+        ValidationPipeline pipeline = pipeline(Duration.ofSeconds(2), 5);
+
+        List<String> errors = pipeline.checkAll(List.of(
+                employee("hadeel@example.com", "Legal"),
+                employee("blocked@example.com", "HR"),
+                employee("sara@example.com", "Operation"),
+                employee("hadeel@example.com", "HR")));
+
+        assertEquals(Arrays.asList(null, "Email validation failed", "Department validation failed", null), errors);
+        // hadeel@example.com is verified once, the department list is loaded once
+        assertEquals(3, emailCalls.get());
+        assertEquals(1, departmentCalls.get());
+    }
+
+    @Test
+    void testCheckAll_UnavailableCheckIsReportedPerEmployee() {
+        ValidationPipeline pipeline = pipeline(Duration.ofSeconds(2), 5);
+        emailStatus = 500;
+
+        List<String> errors = pipeline.checkAll(List.of(employee("a@example.com", "HR"), employee("b@example.com", "HR")));
+
+        assertEquals(2, errors.size());
+        errors.forEach(error -> assertTrue(error.contains("unavailable"), error));
+    }
+
+    @Test
+    void testValidate_CachesResults() {
+        ValidationPipeline pipeline = pipeline(Duration.ofSeconds(2), 5);
+
+        for (int i = 0; i < 5; i++) {
+            pipeline.validate(employee("Hadeel@Example.com", i % 2 == 0 ? "HR" : "Finance"));
+        }
+
+        assertEquals(1, emailCalls.get());
+        assertEquals(1, departmentCalls.get());
+    }
+
+    @Test
+    void testValidate_TimeoutMakesValidationUnavailable() {
+        ValidationPipeline pipeline = pipeline(Duration.ofMillis(100), 5);
+        emailDelayMillis = 1000;
+
+        assertThrows(ValidationUnavailableException.class, () -> pipeline.validate(employee("hadeel@example.com", "HR")));
+
+        assertEquals(1, meterRegistry.get("employee.validation").tag("validator", "email").tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void testValidate_OpenCircuitSkipsFailingService() {
+        ValidationPipeline pipeline = pipeline(Duration.ofSeconds(2), 2);
+        emailStatus = 500;
+
+        for (int i = 0; i < 2; i++) {
+            String email = "user" + i + "@example.com";
+            assertThrows(ValidationUnavailableException.class, () -> pipeline.validate(employee(email, "HR")));
+        }
+        assertEquals(2, emailCalls.get());
+
+        assertThrows(ValidationUnavailableException.class, () -> pipeline.validate(employee("user9@example.com", "HR")));
+        assertEquals(2, emailCalls.get());
+        assertEquals(1, meterRegistry.get("employee.validation").tag("validator", "email").tag("outcome", "rejected").timer().count());
+    }
+
+    @Test
+    void testValidate_TimeoutIncludesWaitingForAThread() {
+        // one thread, held by the first check until the test ends
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            ValidationPipeline pipeline = new ValidationPipeline(List.of(blocking("slow", release)),
+                    single, meterRegistry, 5, Duration.ofMinutes(1));
+            assertThrows(ValidationUnavailableException.class, () -> pipeline.validate(employee("a@example.com", "HR")));
+
+            // queued behind the first check, it times out without ever getting the thread
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                    assertThrows(ValidationUnavailableException.class, () -> pipeline.validate(employee("b@example.com", "HR"))));
+            assertEquals(2, meterRegistry.get("employee.validation").tag("validator", "slow").tag("outcome", "timeout").timer().count());
+        } finally {
+            release.countDown();
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCheckAll_FullQueueMakesValidationUnavailable() {
+        // one thread and one queued check, the third check of the window is rejected
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor bounded = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        try {
+            ValidationPipeline pipeline = new ValidationPipeline(List.of(blocking("slow", release)),
+                    bounded, meterRegistry, 5, Duration.ofMinutes(1));
+
+            List<String> errors = pipeline.checkAll(List.of(
+                    employee("a@example.com", "HR"), employee("b@example.com", "HR"), employee("c@example.com", "HR")));
+
+            errors.forEach(error -> assertTrue(error.contains("unavailable"), error));
+            assertEquals(1, meterRegistry.get("employee.validation").tag("validator", "slow").tag("outcome", "overloaded").timer().count());
+        } finally {
+            release.countDown();
+            bounded.shutdownNow();
+        }
+    }
+
+    // Waits for the latch, longer than its 200ms timeout
+    private static EmployeeValidator blocking(String name, CountDownLatch latch) {
+        return new EmployeeValidator() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public String errorMessage() {
+                return name + " validation failed";
+            }
+
+            @Override
+            public Duration timeout() {
+                return Duration.ofMillis(200);
+            }
+
+            @Override
+            public boolean isValid(Employee employee) {
+                try {
+                    return latch.await(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        };
+    }
+
+    // Valid once every holder of the latch has started, gives up (invalid) after a few seconds
+    private static EmployeeValidator rendezvous(String name, CountDownLatch latch) {
+        return new EmployeeValidator() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public String errorMessage() {
+                return name + " never met the other checks";
+            }
+
+            @Override
+            public Duration timeout() {
+                return Duration.ofSeconds(10);
+            }
+
+            @Override
+            public boolean isValid(Employee employee) {
+                latch.countDown();
+                try {
+                    return latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        };
+    }
+
+    private ValidationPipeline pipeline(Duration timeout, int failureThreshold) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        EmailValidator emailValidator = new EmailValidator(RestClient.builder(), baseUrl + "/email",
+                timeout, Duration.ofHours(1), 1000);
+        DepartmentValidator departmentValidator = new DepartmentValidator(RestClient.builder(), baseUrl + "/departments",
+                timeout, Duration.ofMinutes(10));
+        return new ValidationPipeline(List.of(emailValidator, departmentValidator), executor, meterRegistry,
+                failureThreshold, Duration.ofMinutes(1));
+    }
+
+    private static void respond(HttpExchange exchange, long delayMillis, int status, String body) throws IOException {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Employee employee(String email, String department) {
+        return new Employee(UUID.randomUUID(), "Hadeel", "Aldawsari", email, department, new BigDecimal("50000.00"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.employeemanagement.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.validation.DepartmentValidator;
+import com.example.employeemanagement.validation.EmailValidator;
+import com.example.employeemanagement.validation.ValidationPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+// Shared helpers for the JMH benchmarks
+final class BenchmarkSupport {
+    private static final String[] DEPARTMENTS = {"HR", "Operation", "Finance"};
+
+    private BenchmarkSupport() {
+    }
+
+    // Per-request INFO logging would dominate every measurement and flood the JMH output
+    static void quietLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.example.employeemanagement")).setLevel(Level.WARN);
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("org.hibernate.SQL")).setLevel(Level.WARN);
+    }
+
+    // Boots the application without a web server on a fresh in-memory H2 database
+    static ConfigurableApplicationContext startApplication(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--employee.email.outbox.poll-interval=1h"
+        ));
+        args.addAll(Arrays.asList(extraArgs));
+
+        SpringApplication application = new SpringApplication(EmployeeManagementApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        return application.run(args.toArray(new String[0]));
+    }
+
+    // The built-in checks without remote services, run on the calling thread
+    static ValidationPipeline localValidationPipeline() {
+        return new ValidationPipeline(
+                List.of(new EmailValidator(RestClient.builder(), "", Duration.ofSeconds(1), Duration.ofHours(1), 1000),
+                        new DepartmentValidator(RestClient.builder(), "", Duration.ofSeconds(1), Duration.ofMinutes(10))),
+                Runnable::run, new SimpleMeterRegistry(), 5, Duration.ofSeconds(30));
+    }
+
+    static Employee employee(int i) {
+        return new Employee(null, "First", "Last", "employee" + i + "@example.com",
+                DEPARTMENTS[i % DEPARTMENTS.length], new BigDecimal(40_000 + (i % 5_000) * 10 + ".00"));
+    }
+
+    static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee employee = employee(i);
+            employee.setId(UUID.randomUUID());
+            employees.add(employee);
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.Service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// getEmployeeById through the full Spring stack against an in-memory H2 database,
+// with the by-id cache on (caffeine) and off (none)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeByIdBenchmark {
+
+    @Param({"caffeine", "none"})
+    public String cacheType;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkSupport.startApplication("--spring.cache.type=" + cacheType);
+        BenchmarkSupport.quietLogging();
+        employeeService = context.getBean(EmployeeService.class);
+
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        List<Employee> employees = BenchmarkSupport.employees(rows);
+        employees.forEach(employee -> employee.setId(null));
+        employeeRepository.saveAll(employees);
+        ids = employees.stream().map(Employee::getId).toArray(UUID[]::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EmployeeDTO getEmployeeById() {
+        return employeeService.getEmployeeById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Insert throughput into an employee table that already holds `rows` rows, with random (UUIDv4)
+// and time ordered (UUIDv7) primary keys. Random keys land on random primary key pages, ordered
+// keys append to the last one. Scores are rows per second. In-memory H2 keeps every page cached,
+// so the gap is smaller than on a disk-backed MySQL where random keys also cost page reads.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeIdInsertBenchmark {
+    private static final int BATCH = 1_000;
+
+    @Param({"random", "time-ordered"})
+    public String generator;
+
+    @Param({"1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkSupport.startApplication("--employee.id.generator=" + generator);
+        BenchmarkSupport.quietLogging();
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        while (next < rows) {
+            insertBatch(Math.min(10_000, rows - next));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insert() {
+        insertBatch(BATCH);
+    }
+
+    // one transaction per batch, sent as JDBC batches like bulk create
+    private void insertBatch(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(BenchmarkSupport.employee(next++));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeRepository.saveAll(employees);
+            employeeRepository.flush();
+            entityManager.clear();
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.DTO.BulkCreateResultDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Service.EmployeeTransferService;
+import com.example.employeemanagement.Service.EmployeeTransferService.Format;
+import com.example.employeemanagement.validation.ValidationPipeline;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// CSV import of ROWS new employees with the email check going to a stub verification service
+// that answers after `latencyMs`, like the real one would over the network. Scores are rows per second.
+//  - importCsv: the whole import, parsing, validation windows (ValidationPipeline.checkAll) and inserts
+//  - checkAll / checkRowByRow: only the remote checks of one bulk chunk, batched versus one row after
+//    the other as bulk create used to do; the gap is the round trips the batching saves
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmployeeImportBenchmark {
+    private static final int ROWS = 2_000;
+    private static final int CHUNK = 500;
+
+    @Param({"5"})
+    public int latencyMs;
+
+    private HttpServer emailService;
+    private ConfigurableApplicationContext context;
+    private EmployeeTransferService transferService;
+    private ValidationPipeline validationPipeline;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        emailService = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        emailService.setExecutor(Executors.newCachedThreadPool());
+        emailService.createContext("/", exchange -> {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"valid\": true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        emailService.start();
+
+        // every address is new, so nothing is answered from the verdict cache
+        context = BenchmarkSupport.startApplication(
+                "--employee.validation.email.url=http://localhost:" + emailService.getAddress().getPort() + "/",
+                "--employee.bulk.chunk-size=" + CHUNK);
+        BenchmarkSupport.quietLogging();
+        transferService = context.getBean(EmployeeTransferService.class);
+        validationPipeline = context.getBean(ValidationPipeline.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        emailService.stop(0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BulkCreateResultDTO importCsv() throws IOException {
+        StringBuilder csv = new StringBuilder("firstName,lastName,email,department,salary\n");
+        for (int i = 0; i < ROWS; i++) {
+            Employee employee = BenchmarkSupport.employee(next++);
+            csv.append("First,Last,").append(employee.getEmail()).append(',').append(employee.getDepartment())
+                    .append(',').append(employee.getSalary().toPlainString()).append('\n');
+        }
+        return transferService.importEmployees(Format.CSV,
+                Channels.newChannel(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public List<String> checkAll() {
+        return validationPipeline.checkAll(chunk());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public List<String> checkRowByRow() {
+        List<String> errors = new ArrayList<>(CHUNK);
+        for (Employee employee : chunk()) {
+            errors.add(validationPipeline.check(employee));
+        }
+        return errors;
+    }
+
+    private List<Employee> chunk() {
+        List<Employee> employees = new ArrayList<>(CHUNK);
+        for (int i = 0; i < CHUNK; i++) {
+            employees.add(BenchmarkSupport.employee(next++));
+        }
+        return employees;
+    }
+}
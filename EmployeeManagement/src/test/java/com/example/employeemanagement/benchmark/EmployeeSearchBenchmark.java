@@ -0,0 +1,73 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.DTO.EmployeeDTO;
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.Service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Indexed search against in-memory H2 at growing table sizes, the time per query should stay
+// roughly flat because the filters go through idx_employee_department_salary / idx_employee_last_name
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSearchBenchmark {
+
+    @Param({"10000", "100000", "500000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private PageRequest firstPage;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkSupport.startApplication("--spring.cache.type=none",
+                "--employee.analytics.rebuild-on-startup=false");
+        BenchmarkSupport.quietLogging();
+        employeeService = context.getBean(EmployeeService.class);
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+
+        int chunk = 5_000;
+        for (int from = 0; from < rows; from += chunk) {
+            List<Employee> employees = BenchmarkSupport.employees(Math.min(chunk, rows - from));
+            for (int i = 0; i < employees.size(); i++) {
+                Employee employee = employees.get(i);
+                employee.setId(null);
+                employee.setEmail("employee" + (from + i) + "@example.com");
+                // spread last names so a prefix only matches a small slice of the table
+                employee.setLastName("Last" + Integer.toString((from + i) % 1000, 36));
+            }
+            employeeRepository.saveAll(employees);
+        }
+
+        firstPage = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "salary"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Slice<EmployeeDTO> departmentAndSalaryRange() {
+        return employeeService.searchEmployees("Finance", null,
+                new BigDecimal("60000.00"), new BigDecimal("61000.00"), firstPage, false);
+    }
+
+    @Benchmark
+    public Slice<EmployeeDTO> lastNamePrefix() {
+        return employeeService.searchEmployees(null, "Last1a", null, null, firstPage, false);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.employeemanagement.benchmark;
+
+import com.example.employeemanagement.Model.Employee;
+import com.example.employeemanagement.Repository.EmployeeEmailRepository;
+import com.example.employeemanagement.Repository.EmployeeRepository;
+import com.example.employeemanagement.Service.EmailService;
+import com.example.employeemanagement.Service.EmployeeService;
+import com.example.employeemanagement.cache.EmployeeCache;
+import com.example.employeemanagement.cache.EmployeeCollectionVersion;
+import com.example.employeemanagement.sharding.EmailDirectory;
+import com.example.employeemanagement.sharding.ShardRouter;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.*;
+
+// Service hot paths with the database mocked out: the validation path of createEmployee.
+// Reads are measured against a real database in EmployeeReadBenchmark.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private EmployeeService employeeService;
+    private Employee newEmployee;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+
+        // stubOnly: the mocks must not record millions of invocations
+        EmployeeRepository employeeRepository = mock(EmployeeRepository.class, withSettings().stubOnly());
+        ShardRouter shardRouter = ShardRouter.single(mock(PlatformTransactionManager.class, withSettings().stubOnly()));
+        employeeService = new EmployeeService(employeeRepository,
+                mock(EmailService.class, withSettings().stubOnly()),
+                mock(EntityManager.class, withSettings().stubOnly()),
+                mock(ApplicationEventPublisher.class, withSettings().stubOnly()),
+                BenchmarkSupport.localValidationPipeline(),
+                new EmployeeCache(new NoOpCacheManager(), List.of()),
+                shardRouter,
+                new EmployeeCollectionVersion(employeeRepository),
+                new EmailDirectory(mock(EmployeeEmailRepository.class, withSettings().stubOnly()), employeeRepository,
+                        shardRouter, Duration.ofMinutes(1)));
+        newEmployee = BenchmarkSupport.employee(0);
+    }
+
+    @Benchmark
+    public Employee createEmployee() {
+        employeeService.createEmployee(newEmployee);
+        return newEmployee;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.employeemanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The employees the load test works on and the request for every operation.
+// Rows [0, stableRows) are read and updated but never deleted, so those requests never hit a 404.
+// Deletes consume the rows after them, one each, and creates always use fresh emails.
+final class EmployeeWorkload {
+    private static final String API = "/api/v1/employee";
+    private static final String[] DEPARTMENTS = {"HR", "Operation", "Finance"};
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final int stableRows;
+    private final UUID[] ids;
+    private final AtomicInteger nextToDelete;
+    private final AtomicLong nextToCreate = new AtomicLong();
+
+    EmployeeWorkload(URI baseUri, int stableRows, int deletableRows) {
+        this.baseUri = baseUri;
+        this.stableRows = stableRows;
+        this.ids = new UUID[stableRows + deletableRows];
+        this.nextToDelete = new AtomicInteger(stableRows);
+    }
+
+    // Creates every row through the bulk endpoint, then pages through the table to learn their ids
+    void preload(HttpClient client) throws IOException, InterruptedException {
+        int batch = 5_000;
+        for (int from = 0; from < ids.length; from += batch) {
+            int to = Math.min(from + batch, ids.length);
+            StringBuilder body = new StringBuilder("[");
+            for (int i = from; i < to; i++) {
+                body.append(i == from ? "" : ",").append(json(email(i), "Employee", i));
+            }
+            body.append(']');
+            send(client, post(API + "/create/bulk", body.toString()));
+        }
+
+        Map<String, Integer> rowsByEmail = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            rowsByEmail.put(email(i), i);
+        }
+        int found = 0;
+        String after = null;
+        do {
+            String path = API + "/get-all-employee/page?size=1000" + (after == null ? "" : "&after=" + after);
+            JsonNode page = objectMapper.readTree(send(client, get(path)));
+            for (JsonNode employee : page.get("employees")) {
+                Integer row = rowsByEmail.get(employee.get("email").asText());
+                if (row != null) {
+                    ids[row] = UUID.fromString(employee.get("id").asText());
+                    found++;
+                }
+            }
+            after = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (after != null);
+
+        if (found != ids.length) {
+            throw new IllegalStateException("Preloaded " + found + " of " + ids.length + " employees, check the application log");
+        }
+    }
+
+    // null when there is nothing left to delete
+    HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case CREATE -> post(API + "/create",
+                    json("create-" + nextToCreate.incrementAndGet() + "-" + runId + "@example.com", "Created", random.nextInt(1000)));
+            case GET -> get(API + "/get-employee/by-id/" + ids[random.nextInt(stableRows)]);
+            case UPDATE -> {
+                int row = random.nextInt(stableRows);
+                yield HttpRequest.newBuilder(baseUri.resolve(API + "/update/" + ids[row])).timeout(TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(json(email(row), "Updated", random.nextInt(1000))))
+                        .build();
+            }
+            case DELETE -> {
+                int row = nextToDelete.getAndIncrement();
+                yield row < ids.length
+                        ? HttpRequest.newBuilder(baseUri.resolve(API + "/delete/" + ids[row])).timeout(TIMEOUT).DELETE().build()
+                        : null;
+            }
+            case LIST -> get(API + "/get-all-employee");
+        };
+    }
+
+    private String email(int row) {
+        return "load-" + row + "-" + runId + "@example.com";
+    }
+
+    private static String json(String email, String lastName, int salarySeed) {
+        return "{\"firstName\":\"Load\",\"lastName\":\"" + lastName + "\",\"email\":\"" + email
+                + "\",\"department\":\"" + DEPARTMENTS[salarySeed % DEPARTMENTS.length]
+                + "\",\"salary\":" + (40_000 + salarySeed * 10) + "}";
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    // Waits and retries while admission control turns the request away
+    private static String send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        for (int attempt = 0; attempt < 10 && (response.statusCode() == 429 || response.statusCode() == 503); attempt++) {
+            Thread.sleep(Duration.ofSeconds(response.headers().firstValueAsLong("Retry-After").orElse(1)).toMillis());
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " answered "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    enum Operation {
+        CREATE, GET, UPDATE, DELETE, LIST
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.employeemanagement.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Latency histogram and error count of one operation, recorded from the HTTP client threads
+final class EndpointStats {
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+    private final AtomicLong errors = new AtomicLong();
+
+    // latency is measured from the time the request was due, not when it was sent (no coordinated omission)
+    void record(long latencyNanos, boolean ok) {
+        latencies.recordValue(Math.min(latencyNanos, latencies.getHighestTrackableValue()));
+        if (!ok) {
+            errors.incrementAndGet();
+        }
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    Histogram histogram() {
+        return latencies;
+    }
+
+    static String row(String name, Histogram histogram, long errors, double seconds) {
+        return String.format("%-10s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                name, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    static String header() {
+        return String.format("%-10s %9s %8s %10s %9s %9s %9s %9s %9s",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.employeemanagement.loadtest;
+
+import com.example.employeemanagement.EmployeeManagementApplication;
+import com.example.employeemanagement.loadtest.EmployeeWorkload.Operation;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop HTTP load test of the employee API. Requests are started at a fixed rate whatever the
+// response times are, like real users, and each latency is measured from the moment its request was
+// due. A slow server therefore shows up in the percentiles instead of just lowering the request rate.
+//
+// Starts the application on a random port with an in-memory H2 database (or drives --url),
+// preloads employees, warms up, then measures and prints p50/p90/p99/p999 and throughput per endpoint.
+//
+// Options (--name=value):
+//   rate=200                 requests per second, all endpoints together
+//   duration=30s warmup=10s
+//   rows=10000               employees preloaded for reads and updates
+//   mix=create:10,get:60,update:15,delete:5,list:10   relative weights
+//   max-in-flight=2000       requests beyond this are counted as dropped instead of sent
+//   url=http://host:port     test a running application instead of starting one
+// Any --spring.*, --server.* or --employee.* option is passed to the started application.
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--spring.") || arg.startsWith("--server.") || arg.startsWith("--employee.")) {
+                applicationArgs.add(arg);
+            } else if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+
+        int rate = Integer.parseInt(options.getOrDefault("rate", "200"));
+        Duration duration = duration(options.getOrDefault("duration", "30s"));
+        Duration warmup = duration(options.getOrDefault("warmup", "10s"));
+        int rows = Integer.parseInt(options.getOrDefault("rows", "10000"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        Map<Operation, Integer> mix = mix(options.getOrDefault("mix", "create:10,get:60,update:15,delete:5,list:10"));
+
+        ConfigurableApplicationContext context = null;
+        URI baseUri;
+        if (options.containsKey("url")) {
+            baseUri = URI.create(options.get("url"));
+        } else {
+            context = startApplication(applicationArgs);
+            baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+        }
+
+        try {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5)).build();
+
+            // enough spare rows that deletes never run out during the run
+            int weightSum = mix.values().stream().mapToInt(Integer::intValue).sum();
+            long totalRequests = (long) rate * (warmup.toSeconds() + duration.toSeconds());
+            int deletableRows = (int) Math.min(1_000_000, totalRequests * mix.getOrDefault(Operation.DELETE, 0) / Math.max(1, weightSum) * 11 / 10 + 100);
+
+            EmployeeWorkload workload = new EmployeeWorkload(baseUri, rows, deletableRows);
+            System.out.printf("Preloading %d employees into %s%n", rows + deletableRows, baseUri);
+            workload.preload(client);
+
+            System.out.printf("Running %d req/s for %ds after %ds of warmup%n", rate, duration.toSeconds(), warmup.toSeconds());
+            Map<Operation, EndpointStats> stats = run(client, workload, mix, rate, warmup, duration, maxInFlight);
+            report(stats, duration);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static Map<Operation, EndpointStats> run(HttpClient client, EmployeeWorkload workload, Map<Operation, Integer> mix,
+                                                     int rate, Duration warmup, Duration duration, int maxInFlight) throws InterruptedException {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+        Operation[] weighted = mix.entrySet().stream()
+                .flatMap(e -> Collections.nCopies(e.getValue(), e.getKey()).stream())
+                .toArray(Operation[]::new);
+
+        AtomicLong inFlight = new AtomicLong();
+        long dropped = 0;
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * interval;
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+            HttpRequest request = workload.request(operation);
+            if (request == null || inFlight.get() >= maxInFlight) {
+                dropped++;
+                continue;
+            }
+            boolean measured = due >= measureFrom;
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long latency = System.nanoTime() - due;
+                inFlight.decrementAndGet();
+                if (measured) {
+                    boolean ok = error == null && response.statusCode() < 400;
+                    stats.get(operation).record(latency, ok);
+                }
+            });
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        if (dropped > 0 || inFlight.get() > 0) {
+            System.out.printf("Dropped %d requests, %d still in flight at the end%n", dropped, inFlight.get());
+        }
+        return stats;
+    }
+
+    private static void report(Map<Operation, EndpointStats> stats, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        Histogram total = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+        long totalErrors = 0;
+
+        System.out.println();
+        System.out.println(EndpointStats.header());
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            if (endpoint.count() == 0) {
+                continue;
+            }
+            System.out.println(EndpointStats.row(entry.getKey().name().toLowerCase(Locale.ROOT), endpoint.histogram(), endpoint.errors(), seconds));
+            total.add(endpoint.histogram());
+            totalErrors += endpoint.errors();
+        }
+        System.out.println(EndpointStats.row("total", total, totalErrors, seconds));
+    }
+
+    private static ConfigurableApplicationContext startApplication(List<String> extraArgs) {
+        // keyed by property so an option given on the command line replaces the default
+        Map<String, String> args = new LinkedHashMap<>();
+        for (String arg : List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.h2.console.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                // welcome emails fail fast against a closed local port instead of reaching a real SMTP server
+                "--spring.mail.host=localhost",
+                "--spring.mail.port=1",
+                "--employee.email.outbox.poll-interval=1h")) {
+            args.put(arg.substring(0, arg.indexOf('=')), arg);
+        }
+        for (String arg : extraArgs) {
+            args.put(arg.contains("=") ? arg.substring(0, arg.indexOf('=')) : arg, arg);
+        }
+        return SpringApplication.run(EmployeeManagementApplication.class, args.values().toArray(new String[0]));
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase(Locale.ROOT));
+    }
+}
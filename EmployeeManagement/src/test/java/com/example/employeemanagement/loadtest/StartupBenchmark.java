@@ -0,0 +1,139 @@
+package com.example.employeemanagement.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Time to first request of the packaged application (build it with mvn -Pfast-startup package, see
+// pom.xml). Every run launches a fresh JVM with java -jar, polls an endpoint that reads the database
+// until it answers 200 and takes the time from launching the process, then stops the process. By
+// then Flyway, Hibernate and the web stack have all done their startup work.
+//
+// Variants, each run gets its own in-memory H2 database:
+//   default        the default profile, no AOT, no CDS
+//   fast-startup   the fast-startup profile
+//   aot            fast-startup with the AOT generated bean definitions (-Dspring.aot.enabled=true)
+//   aot-cds        aot plus the class data sharing archive (-XX:SharedArchiveFile)
+//
+// Options (--name=value):
+//   jar=target/extracted/EmployeeManagement-0.0.1-SNAPSHOT.jar   the extracted application jar
+//   archive=target/extracted/application.jsa                     the CDS archive
+//   variants=default,fast-startup,aot,aot-cds
+//   runs=5         measured runs per variant, after one run that is discarded (cold disk cache)
+//   timeout=60s    per run
+// The output of each run goes to target/startup-<variant>.log.
+public class StartupBenchmark {
+    private static final String FIRST_REQUEST = "/api/v1/employee/get-all-employee/page?size=1";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        String jar = options.getOrDefault("jar", "target/extracted/EmployeeManagement-0.0.1-SNAPSHOT.jar");
+        String archive = options.getOrDefault("archive", "target/extracted/application.jsa");
+        List<String> variants = List.of(options.getOrDefault("variants", "default,fast-startup,aot,aot-cds").split(","));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Duration timeout = Duration.parse("PT" + options.getOrDefault("timeout", "60s").toUpperCase(Locale.ROOT));
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(200)).build();
+
+        System.out.printf("Time to first request of %s, %d runs per variant%n%n", jar, runs);
+        System.out.printf("%-14s %10s %10s %10s%n", "variant", "min", "median", "max");
+        for (String variant : variants) {
+            variant = variant.trim();
+            List<String> jvmOptions = jvmOptions(variant, archive);
+            File log = new File("target/startup-" + variant + ".log");
+
+            timeToFirstRequest(client, jar, jvmOptions, log, timeout);
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                millis[run] = timeToFirstRequest(client, jar, jvmOptions, log, timeout).toMillis();
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-14s %7d ms %7d ms %7d ms%n", variant, millis[0], millis[runs / 2], millis[runs - 1]);
+        }
+    }
+
+    // The AOT code is generated for the fast-startup profile, it only runs with that profile active
+    private static List<String> jvmOptions(String variant, String archive) {
+        return switch (variant) {
+            case "default" -> List.of();
+            case "fast-startup" -> List.of("-Dspring.profiles.active=fast-startup");
+            case "aot" -> List.of("-Dspring.profiles.active=fast-startup", "-Dspring.aot.enabled=true");
+            case "aot-cds" -> List.of("-XX:SharedArchiveFile=" + archive,
+                    "-Dspring.profiles.active=fast-startup", "-Dspring.aot.enabled=true");
+            default -> throw new IllegalArgumentException("Unknown variant: " + variant
+                    + " (expected default, fast-startup, aot or aot-cds)");
+        };
+    }
+
+    private static Duration timeToFirstRequest(HttpClient client, String jar, List<String> jvmOptions, File log,
+                                               Duration timeout) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-jar", jar,
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--logging.level.root=WARN",
+                // welcome emails fail fast against a closed local port instead of reaching a real SMTP server
+                "--spring.mail.host=localhost",
+                "--spring.mail.port=1",
+                "--employee.email.outbox.poll-interval=1h"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + FIRST_REQUEST))
+                .timeout(Duration.ofSeconds(5)).GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(log)).start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("The application exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No answer within " + timeout.toSeconds() + "s, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
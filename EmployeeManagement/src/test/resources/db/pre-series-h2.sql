@@ -0,0 +1,15 @@
+-- The employee table as ddl-auto=update created it before the Flyway migrations: no version,
+-- no search indexes, no email_outbox
+create table if not exists employee (
+    salary numeric(38,2) not null,
+    id uuid not null,
+    department varchar(255) not null,
+    email varchar(255) not null unique,
+    first_name varchar(40) not null,
+    last_name varchar(40) not null,
+    primary key (id)
+);
+
+-- runs on every new connection (H2 INIT), merge keeps it one row
+merge into employee (id, first_name, last_name, email, department, salary) key (id)
+values ('0b5e3b8e-7d2a-4c1e-9f3a-2d6c1b7e4a10', 'Hadeel', 'Aldawsari', 'hadeel.legacy@example.com', 'HR', 50000.00);